@@ -0,0 +1,72 @@
+#!/bin/bash
+
+# Cache Backend Comparison Script
+# Start the app with --sct.cache.enabled=true --sct.cache.backend=<heap|offheap> and a large --sct.cache.max-size,
+# then run this once per backend; GC pause and select latency are appended to CSV for side-by-side comparison
+
+BASE_URL="http://localhost:8080/sct"
+ACTUATOR_URL="http://localhost:8080/actuator/metrics"
+OUTPUT_CSV="cache_backend_results.csv"
+BACKEND=${BACKEND:-heap}
+ITERATIONS=${ITERATIONS:-3}
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+NC='\033[0m'
+
+log() {
+    echo -e "${GREEN}[$(date '+%Y-%m-%d %H:%M:%S')]${NC} $1"
+}
+
+error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+# metric NAME STATISTIC [TAG...]
+metric() {
+    local name=$1 statistic=$2
+    shift 2
+    local query=""
+    for tag in "$@"; do
+        query="$query&tag=$tag"
+    done
+    curl -s "$ACTUATOR_URL/$name?${query#&}" | jq -r ".measurements[] | select(.statistic == \"$statistic\") | .value" 2>/dev/null || echo 0
+}
+
+if ! curl -s -f "$BASE_URL/scanAll" > /dev/null 2>&1; then
+    error "Server is not running at $BASE_URL"
+    exit 1
+fi
+
+if [ ! -f "$OUTPUT_CSV" ]; then
+    echo "backend,iteration,select_success,avg_select_latency_ms,cache_hits,cache_misses,gc_pause_count,gc_pause_total_s,gc_pause_max_s" > "$OUTPUT_CSV"
+fi
+
+for i in $(seq 1 $ITERATIONS); do
+    log "Running $BACKEND - Iteration $i"
+    hits_before=$(metric cache.gets COUNT cache:sct.record result:hit)
+    misses_before=$(metric cache.gets COUNT cache:sct.record result:miss)
+    gc_count_before=$(metric jvm.gc.pause COUNT)
+    gc_total_before=$(metric jvm.gc.pause TOTAL_TIME)
+
+    payload="{\"testDurationSeconds\":60,\"selectRatio\":20,\"updateRatio\":0,\"deleteRatio\":0,\"pk\":0,\"startCk\":0,\"threadCount\":10,\"exceptionRetryInterval\":0,\"rampUpTimeSeconds\":10,\"operationDelayMs\":0,\"cleanupAfterTest\":true}"
+    response=$(curl -s -X POST -H "Content-Type: application/json" -d "$payload" "$BASE_URL/loadTest")
+    if [ $? -ne 0 ]; then
+        error "Failed to execute load test for $BACKEND iteration $i"
+        continue
+    fi
+
+    select_success=$(echo "$response" | jq -r '.successCounts.select // 0')
+    latency=$(echo "$response" | jq -r '.averageLatencyMs.select // "ERROR"')
+    hits=$(echo "$(metric cache.gets COUNT cache:sct.record result:hit) - $hits_before" | bc)
+    misses=$(echo "$(metric cache.gets COUNT cache:sct.record result:miss) - $misses_before" | bc)
+    gc_count=$(echo "$(metric jvm.gc.pause COUNT) - $gc_count_before" | bc)
+    gc_total=$(echo "$(metric jvm.gc.pause TOTAL_TIME) - $gc_total_before" | bc)
+    # MAX is a decaying window maximum, so it reflects pauses during this run
+    gc_max=$(metric jvm.gc.pause MAX)
+    echo "$BACKEND,$i,$select_success,$latency,$hits,$misses,$gc_count,$gc_total,$gc_max" >> "$OUTPUT_CSV"
+    sleep 5
+done
+
+log "Results appended to $OUTPUT_CSV"
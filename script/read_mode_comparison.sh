@@ -0,0 +1,49 @@
+#!/bin/bash
+
+# Read Mode Comparison Script
+# Runs the API load test once per read mode and writes select latency/throughput to CSV
+
+BASE_URL="http://localhost:8080/sct"
+OUTPUT_CSV="read_mode_results.csv"
+ITERATIONS=${ITERATIONS:-3}
+READ_MODES=("TRANSACTION" "READ_ONLY" "ONE_OPERATION")
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+NC='\033[0m'
+
+log() {
+    echo -e "${GREEN}[$(date '+%Y-%m-%d %H:%M:%S')]${NC} $1"
+}
+
+error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+if ! curl -s -f "$BASE_URL/scanAll" > /dev/null 2>&1; then
+    error "Server is not running at $BASE_URL"
+    exit 1
+fi
+
+echo "read_mode,iteration,select_success,select_error,avg_select_latency_ms,throughput_per_minute" > "$OUTPUT_CSV"
+
+for mode in "${READ_MODES[@]}"; do
+    for i in $(seq 1 $ITERATIONS); do
+        log "Running $mode - Iteration $i"
+        payload="{\"testDurationSeconds\":60,\"selectRatio\":5,\"updateRatio\":0,\"deleteRatio\":1,\"pk\":0,\"startCk\":0,\"threadCount\":10,\"exceptionRetryInterval\":0,\"rampUpTimeSeconds\":10,\"operationDelayMs\":0,\"cleanupAfterTest\":true,\"readMode\":\"$mode\"}"
+        response=$(curl -s -X POST -H "Content-Type: application/json" -d "$payload" "$BASE_URL/loadTest")
+        if [ $? -ne 0 ]; then
+            error "Failed to execute load test for $mode iteration $i"
+            continue
+        fi
+        select_success=$(echo "$response" | jq -r '.successCounts.select // 0')
+        select_error=$(echo "$response" | jq -r '.errorCounts.select // 0')
+        latency=$(echo "$response" | jq -r '.averageLatencyMs.select // "ERROR"')
+        throughput=$(echo "$response" | jq -r '.throughputPerMinute // "ERROR"')
+        echo "$mode,$i,$select_success,$select_error,$latency,$throughput" >> "$OUTPUT_CSV"
+        sleep 5
+    done
+done
+
+log "Results written to $OUTPUT_CSV"
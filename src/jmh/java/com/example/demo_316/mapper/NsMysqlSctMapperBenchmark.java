@@ -0,0 +1,91 @@
+package com.example.demo_316.mapper;
+
+import com.example.demo_316.dto.NsMysqlSctDto;
+import com.example.demo_316.dto.NsMysqlSctErrorDto;
+import com.example.demo_316.model.NsMysqlSct;
+import com.example.demo_316.model.NsMysqlSctError;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Direct field-copy mappers against the ModelMapper calls they replaced; run with -prof gc for bytes per operation
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class NsMysqlSctMapperBenchmark {
+    private static final int LIST_SIZE = 100;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private NsMysqlSct sct;
+    private NsMysqlSctDto sctDto;
+    private NsMysqlSctError sctError;
+    private List<NsMysqlSct> sctList;
+
+    @Setup
+    public void setUp() {
+        sct = NsMysqlSct.builder().pk(1).ck(2).stringValue("value").bintValue(42L).build();
+        sctDto = NsMysqlSctMapper.mapToNsMysqlSctDto(sct);
+        sctError = NsMysqlSctError.builder().pk(1).ck(2).exception("conflict").exceptionAt(LocalDateTime.now()).build();
+        sctList = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            sctList.add(NsMysqlSct.builder().pk(1).ck(i).stringValue("value" + i).bintValue((long) i).build());
+        }
+        // Let ModelMapper build its type maps before measuring, as a long-running service would
+        modelMapper.map(sct, NsMysqlSctDto.class);
+        modelMapper.map(sctDto, NsMysqlSct.class);
+        modelMapper.map(sctError, NsMysqlSctErrorDto.class);
+    }
+
+    @Benchmark
+    public NsMysqlSctDto toDtoDirect() {
+        return NsMysqlSctMapper.mapToNsMysqlSctDto(sct);
+    }
+
+    @Benchmark
+    public NsMysqlSctDto toDtoModelMapper() {
+        return modelMapper.map(sct, NsMysqlSctDto.class);
+    }
+
+    @Benchmark
+    public NsMysqlSct toModelDirect() {
+        return NsMysqlSctMapper.mapToNsMysqlSct(sctDto);
+    }
+
+    @Benchmark
+    public NsMysqlSct toModelModelMapper() {
+        return modelMapper.map(sctDto, NsMysqlSct.class);
+    }
+
+    @Benchmark
+    public NsMysqlSctErrorDto errorToDtoDirect() {
+        return NsMysqlSctErrorMapper.mapToNsMysqlSctErrorDto(sctError);
+    }
+
+    @Benchmark
+    public NsMysqlSctErrorDto errorToDtoModelMapper() {
+        return modelMapper.map(sctError, NsMysqlSctErrorDto.class);
+    }
+
+    @Benchmark
+    public List<NsMysqlSctDto> listToDtoDirect() {
+        return NsMysqlSctMapper.mapToNsMysqlSctDtoList(sctList);
+    }
+
+    @Benchmark
+    public List<NsMysqlSctDto> listToDtoModelMapper() {
+        List<NsMysqlSctDto> sctDtoList = new ArrayList<>();
+        for (NsMysqlSct item : sctList) {
+            sctDtoList.add(modelMapper.map(item, NsMysqlSctDto.class));
+        }
+        return sctDtoList;
+    }
+}
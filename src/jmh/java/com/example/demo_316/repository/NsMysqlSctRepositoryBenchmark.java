@@ -0,0 +1,99 @@
+package com.example.demo_316.repository;
+
+import com.example.demo_316.model.NsMysqlSct;
+import com.scalar.db.api.ConditionBuilder;
+import com.scalar.db.api.Delete;
+import com.scalar.db.api.Get;
+import com.scalar.db.api.Insert;
+import com.scalar.db.api.Update;
+import com.scalar.db.io.Key;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Operation builders with shared immutable parts against building every part per call, as the repository used to.
+// Run with -prof gc (on by default in build.gradle) and compare gc.alloc.rate.norm between each pair.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class NsMysqlSctRepositoryBenchmark {
+    private final NsMysqlSctRepository repository = new NsMysqlSctRepository();
+    private NsMysqlSct sct;
+
+    @Setup
+    public void setUp() {
+        sct = NsMysqlSct.builder().pk(1).ck(2).stringValue("value").bintValue(42L).build();
+    }
+
+    @Benchmark
+    public Get getShared() {
+        return repository.buildGet(sct);
+    }
+
+    @Benchmark
+    public Get getPerCall() {
+        return Get.newBuilder()
+            .namespace(NsMysqlSct.NAMESPACE)
+            .table(NsMysqlSct.TABLE)
+            .partitionKey(Key.newBuilder().addInt(NsMysqlSct.PK, sct.getPk()).build())
+            .clusteringKey(Key.newBuilder().addInt(NsMysqlSct.CK, sct.getCk()).build())
+            .projections(NsMysqlSct.PK, NsMysqlSct.CK, NsMysqlSct.STRING_VALUE, NsMysqlSct.BINT_VALUE)
+            .build();
+    }
+
+    @Benchmark
+    public Insert insertShared() {
+        return repository.buildInsert(sct);
+    }
+
+    @Benchmark
+    public Insert insertPerCall() {
+        return Insert.newBuilder()
+            .namespace(NsMysqlSct.NAMESPACE)
+            .table(NsMysqlSct.TABLE)
+            .partitionKey(Key.newBuilder().addInt(NsMysqlSct.PK, sct.getPk()).build())
+            .clusteringKey(Key.newBuilder().addInt(NsMysqlSct.CK, sct.getCk()).build())
+            .textValue(NsMysqlSct.STRING_VALUE, sct.getStringValue())
+            .bigIntValue(NsMysqlSct.BINT_VALUE, sct.getBintValue())
+            .build();
+    }
+
+    @Benchmark
+    public Update updateShared() {
+        return repository.buildUpdate(sct);
+    }
+
+    @Benchmark
+    public Update updatePerCall() {
+        return Update.newBuilder()
+            .namespace(NsMysqlSct.NAMESPACE)
+            .table(NsMysqlSct.TABLE)
+            .partitionKey(Key.newBuilder().addInt(NsMysqlSct.PK, sct.getPk()).build())
+            .clusteringKey(Key.newBuilder().addInt(NsMysqlSct.CK, sct.getCk()).build())
+            .textValue(NsMysqlSct.STRING_VALUE, sct.getStringValue())
+            .bigIntValue(NsMysqlSct.BINT_VALUE, sct.getBintValue())
+            .condition(ConditionBuilder.updateIfExists())
+            .build();
+    }
+
+    @Benchmark
+    public Delete deleteShared() {
+        return repository.buildDelete(sct);
+    }
+
+    @Benchmark
+    public Delete deletePerCall() {
+        return Delete.newBuilder()
+            .namespace(NsMysqlSct.NAMESPACE)
+            .table(NsMysqlSct.TABLE)
+            .partitionKey(Key.newBuilder().addInt(NsMysqlSct.PK, sct.getPk()).build())
+            .clusteringKey(Key.newBuilder().addInt(NsMysqlSct.CK, sct.getCk()).build())
+            .condition(ConditionBuilder.deleteIfExists())
+            .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo_316.cache;
+
+import com.example.demo_316.model.NsMysqlSct;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+
+// On-heap store; Caffeine's size-based eviction is W-TinyLFU, which suits the skewed key popularity we see
+class CaffeineSctRecordStore implements SctRecordStore {
+    private final Cache<SctCacheKey, NsMysqlSct> cache;
+
+    CaffeineSctRecordStore(MeterRegistry meterRegistry, String name, long maxSize, long ttlMs) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(Math.max(0, maxSize))
+            .expireAfterWrite(Duration.ofMillis(Math.max(1, ttlMs)))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    @Override
+    public NsMysqlSct get(int pk, int ck) {
+        return cache.getIfPresent(new SctCacheKey(pk, ck));
+    }
+
+    @Override
+    public void put(NsMysqlSct sct) {
+        cache.put(new SctCacheKey(sct.getPk(), sct.getCk()), sct);
+    }
+
+    @Override
+    public void invalidate(int pk, int ck) {
+        cache.invalidate(new SctCacheKey(pk, ck));
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.demo_316.cache;
+
+import com.example.demo_316.model.NsMysqlSct;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Off-heap store: records are serialized into fixed-size slots of direct buffers, so the heap holds no per-entry objects.
+// Each segment has its own lock, an open-addressing index on the raw (pk, ck) ints and a clock hand for eviction.
+class OffHeapSctRecordStore implements SctRecordStore {
+    // Slot layout: pk, ck, written-at nanos, bint_value, string length (-1 for null), bint null flag, string bytes
+    private static final int PK_OFFSET = 0;
+    private static final int CK_OFFSET = 4;
+    private static final int WRITTEN_AT_OFFSET = 8;
+    private static final int BINT_OFFSET = 16;
+    private static final int STRING_LENGTH_OFFSET = 24;
+    private static final int BINT_NULL_OFFSET = 28;
+    private static final int STRING_OFFSET = 29;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final int segmentBits;
+    private final int maxValueBytes;
+    private final int slotSize;
+    private final long ttlNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder oversized = new LongAdder();
+
+    OffHeapSctRecordStore(MeterRegistry meterRegistry, String name, long maxSize, long ttlMs, int segmentCount, int maxValueBytes) {
+        int resolvedSegments = Integer.highestOneBit(Math.max(1, Math.min(segmentCount, 1 << 16)));
+        this.segmentMask = resolvedSegments - 1;
+        this.segmentBits = Integer.numberOfTrailingZeros(resolvedSegments);
+        this.maxValueBytes = Math.max(0, maxValueBytes);
+        this.slotSize = STRING_OFFSET + this.maxValueBytes;
+        this.ttlNanos = Math.max(1, ttlMs) * 1_000_000L;
+        int slotsPerSegment = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (Math.max(1, maxSize) + resolvedSegments - 1) / resolvedSegments));
+        if ((long) slotsPerSegment * slotSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Off-heap cache segment would exceed 2 GB; raise sct.cache.offheap.segments");
+        }
+        this.segments = new Segment[resolvedSegments];
+        for (int i = 0; i < resolvedSegments; i++) {
+            segments[i] = new Segment(slotsPerSegment);
+        }
+
+        // Same meter names and tags as CaffeineCacheMetrics, so dashboards work for either backend
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum).tag("cache", name).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum).tag("cache", name).tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum).tag("cache", name).register(meterRegistry);
+        Gauge.builder("cache.size", this, OffHeapSctRecordStore::size).tag("cache", name).register(meterRegistry);
+        Gauge.builder("sct.cache.offheap.bytes", this, OffHeapSctRecordStore::capacityBytes).tag("cache", name).register(meterRegistry);
+        FunctionCounter.builder("sct.cache.offheap.oversized", oversized, LongAdder::sum)
+            .description("Records not cached because string_value exceeds the slot size")
+            .tag("cache", name)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public NsMysqlSct get(int pk, int ck) {
+        int hash = hash(pk, ck);
+        NsMysqlSct sct = segments[hash & segmentMask].get(pk, ck, hash >>> segmentBits);
+        if (sct == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return sct;
+    }
+
+    @Override
+    public void put(NsMysqlSct sct) {
+        int pk = sct.getPk();
+        int ck = sct.getCk();
+        int hash = hash(pk, ck);
+        byte[] value = sct.getStringValue() == null ? null : sct.getStringValue().getBytes(StandardCharsets.UTF_8);
+        Segment segment = segments[hash & segmentMask];
+        if (value != null && value.length > maxValueBytes) {
+            // Too large for a slot; drop any older copy so it cannot be served instead
+            oversized.increment();
+            segment.invalidate(pk, ck, hash >>> segmentBits);
+            return;
+        }
+        segment.put(pk, ck, hash >>> segmentBits, value, sct.getBintValue());
+    }
+
+    @Override
+    public void invalidate(int pk, int ck) {
+        int hash = hash(pk, ck);
+        segments[hash & segmentMask].invalidate(pk, ck, hash >>> segmentBits);
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    long capacityBytes() {
+        return (long) segments.length * segments[0].buffer.capacity();
+    }
+
+    // 64-bit finalizer over both keys, so sequential pk/ck pairs spread across segments and index buckets
+    private static int hash(int pk, int ck) {
+        long h = ((long) pk << 32) | (ck & 0xFFFFFFFFL);
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private final class Segment {
+        private static final int EMPTY = -1;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ByteBuffer buffer;
+        private final int slots;
+        // Index kept at most half full: parallel primitive arrays, linear probing, EMPTY marks a free bucket
+        private final int[] indexPk;
+        private final int[] indexCk;
+        private final int[] indexSlot;
+        private final int indexMask;
+        private final boolean[] referenced;
+        private final int[] freeSlots;
+        private int freeCount;
+        private int clockHand;
+
+        Segment(int slots) {
+            this.slots = slots;
+            this.buffer = ByteBuffer.allocateDirect(slots * slotSize);
+            int indexCapacity = Integer.highestOneBit(Math.max(2, slots * 2 - 1)) << 1;
+            this.indexPk = new int[indexCapacity];
+            this.indexCk = new int[indexCapacity];
+            this.indexSlot = new int[indexCapacity];
+            this.indexMask = indexCapacity - 1;
+            this.referenced = new boolean[slots];
+            this.freeSlots = new int[slots];
+            reset();
+        }
+
+        NsMysqlSct get(int pk, int ck, int hash) {
+            lock.lock();
+            try {
+                int bucket = find(pk, ck, hash);
+                if (bucket == EMPTY) {
+                    return null;
+                }
+                int slot = indexSlot[bucket];
+                int base = slot * slotSize;
+                if (System.nanoTime() - buffer.getLong(base + WRITTEN_AT_OFFSET) > ttlNanos) {
+                    release(bucket, slot);
+                    return null;
+                }
+                referenced[slot] = true;
+                int length = buffer.getInt(base + STRING_LENGTH_OFFSET);
+                String stringValue = null;
+                if (length >= 0) {
+                    byte[] bytes = new byte[length];
+                    buffer.get(base + STRING_OFFSET, bytes);
+                    stringValue = new String(bytes, StandardCharsets.UTF_8);
+                }
+                Long bintValue = buffer.get(base + BINT_NULL_OFFSET) == 0 ? buffer.getLong(base + BINT_OFFSET) : null;
+                return NsMysqlSct.builder().pk(pk).ck(ck).stringValue(stringValue).bintValue(bintValue).build();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(int pk, int ck, int hash, byte[] value, Long bintValue) {
+            lock.lock();
+            try {
+                int bucket = find(pk, ck, hash);
+                int slot;
+                if (bucket != EMPTY) {
+                    slot = indexSlot[bucket];
+                } else {
+                    slot = allocate();
+                    insert(pk, ck, hash, slot);
+                    referenced[slot] = false;
+                }
+                int base = slot * slotSize;
+                buffer.putInt(base + PK_OFFSET, pk);
+                buffer.putInt(base + CK_OFFSET, ck);
+                buffer.putLong(base + WRITTEN_AT_OFFSET, System.nanoTime());
+                buffer.putLong(base + BINT_OFFSET, bintValue == null ? 0L : bintValue);
+                buffer.put(base + BINT_NULL_OFFSET, (byte) (bintValue == null ? 1 : 0));
+                buffer.putInt(base + STRING_LENGTH_OFFSET, value == null ? -1 : value.length);
+                if (value != null) {
+                    buffer.put(base + STRING_OFFSET, value);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void invalidate(int pk, int ck, int hash) {
+            lock.lock();
+            try {
+                int bucket = find(pk, ck, hash);
+                if (bucket != EMPTY) {
+                    release(bucket, indexSlot[bucket]);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                reset();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return slots - freeCount;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void reset() {
+            Arrays.fill(indexSlot, EMPTY);
+            Arrays.fill(referenced, false);
+            for (int i = 0; i < slots; i++) {
+                freeSlots[i] = slots - 1 - i;
+            }
+            freeCount = slots;
+            clockHand = 0;
+        }
+
+        // Take a free slot, or sweep the clock: a referenced slot gets a second chance, the first unreferenced one is evicted
+        private int allocate() {
+            if (freeCount > 0) {
+                return freeSlots[--freeCount];
+            }
+            while (true) {
+                int slot = clockHand;
+                clockHand = clockHand + 1 == slots ? 0 : clockHand + 1;
+                if (referenced[slot]) {
+                    referenced[slot] = false;
+                    continue;
+                }
+                int base = slot * slotSize;
+                int pk = buffer.getInt(base + PK_OFFSET);
+                int ck = buffer.getInt(base + CK_OFFSET);
+                removeBucket(find(pk, ck, hash(pk, ck) >>> segmentBits));
+                evictions.increment();
+                return slot;
+            }
+        }
+
+        private void release(int bucket, int slot) {
+            removeBucket(bucket);
+            referenced[slot] = false;
+            freeSlots[freeCount++] = slot;
+        }
+
+        private int find(int pk, int ck, int hash) {
+            int bucket = hash & indexMask;
+            while (indexSlot[bucket] != EMPTY) {
+                if (indexPk[bucket] == pk && indexCk[bucket] == ck) {
+                    return bucket;
+                }
+                bucket = (bucket + 1) & indexMask;
+            }
+            return EMPTY;
+        }
+
+        private void insert(int pk, int ck, int hash, int slot) {
+            int bucket = hash & indexMask;
+            while (indexSlot[bucket] != EMPTY) {
+                bucket = (bucket + 1) & indexMask;
+            }
+            indexPk[bucket] = pk;
+            indexCk[bucket] = ck;
+            indexSlot[bucket] = slot;
+        }
+
+        // Backward-shift deletion keeps every probe chain unbroken without tombstones
+        private void removeBucket(int bucket) {
+            int hole = bucket;
+            indexSlot[hole] = EMPTY;
+            int next = hole;
+            while (true) {
+                next = (next + 1) & indexMask;
+                if (indexSlot[next] == EMPTY) {
+                    return;
+                }
+                int home = (hash(indexPk[next], indexCk[next]) >>> segmentBits) & indexMask;
+                boolean stays = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+                if (stays) {
+                    continue;
+                }
+                indexPk[hole] = indexPk[next];
+                indexCk[hole] = indexCk[next];
+                indexSlot[hole] = indexSlot[next];
+                indexSlot[next] = EMPTY;
+                hole = next;
+            }
+        }
+    }
+}
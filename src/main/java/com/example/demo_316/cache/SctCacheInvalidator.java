@@ -0,0 +1,70 @@
+package com.example.demo_316.cache;
+
+import com.scalar.db.api.Mutation;
+import com.scalar.db.io.Key;
+import org.springframework.stereotype.Component;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+// Single place every local write path reports the keys it touched, so each cache layer is kept in step
+@Component
+public class SctCacheInvalidator {
+    private final SctRecordCache recordCache;
+    private final SctNegativeCache negativeCache;
+    private final SctScanCache scanCache;
+    // Components outside the cache package that must also react to local writes
+    private final List<BiConsumer<Integer, Integer>> listeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> invalidateAllListeners = new CopyOnWriteArrayList<>();
+
+    public SctCacheInvalidator(SctRecordCache recordCache, SctNegativeCache negativeCache, SctScanCache scanCache) {
+        this.recordCache = recordCache;
+        this.negativeCache = negativeCache;
+        this.scanCache = scanCache;
+    }
+
+    public void onWrite(Integer pk, Integer ck) {
+        if (pk == null || ck == null) {
+            return;
+        }
+        recordCache.invalidate(pk, ck);
+        negativeCache.invalidate(pk, ck);
+        scanCache.invalidatePartition(pk);
+        for (BiConsumer<Integer, Integer> listener : listeners) {
+            listener.accept(pk, ck);
+        }
+    }
+
+    // For writes whose keys are unknown, such as free-form SQL: every layer is dropped
+    public void onWriteAll() {
+        recordCache.invalidateAll();
+        negativeCache.invalidateAll();
+        scanCache.invalidateAll();
+        for (Runnable listener : invalidateAllListeners) {
+            listener.run();
+        }
+    }
+
+    public void addListener(BiConsumer<Integer, Integer> listener) {
+        listeners.add(listener);
+    }
+
+    public void addInvalidateAllListener(Runnable listener) {
+        invalidateAllListeners.add(listener);
+    }
+
+    public void onWrite(Mutation mutation) {
+        Key clusteringKey = mutation.getClusteringKey().orElse(null);
+        if (clusteringKey == null) {
+            return;
+        }
+        onWrite(mutation.getPartitionKey().getColumns().get(0).getIntValue(), clusteringKey.getColumns().get(0).getIntValue());
+    }
+
+    public void onWrite(Collection<? extends Mutation> mutations) {
+        for (Mutation mutation : mutations) {
+            onWrite(mutation);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.demo_316.cache;
+
+// Cache key of one sct record
+public record SctCacheKey(Integer pk, Integer ck) {
+}
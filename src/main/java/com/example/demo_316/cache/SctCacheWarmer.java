@@ -0,0 +1,201 @@
+package com.example.demo_316.cache;
+
+import com.example.demo_316.model.NsMysqlSct;
+import com.example.demo_316.repository.NsMysqlSctRepository;
+import com.scalar.db.api.DistributedTransaction;
+import com.scalar.db.api.DistributedTransactionManager;
+import com.scalar.db.api.Scan;
+import com.scalar.db.exception.transaction.RollbackException;
+import com.scalar.db.exception.transaction.TransactionException;
+import com.scalar.db.io.Key;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fills the record cache from configured partitions after startup; readiness stays down until it finishes or its time budget runs out.
+// Loaded rows only help if they outlive the warm-up, so it needs sct.cache.ttl-ms well above sct.warmup.time-budget-ms.
+@Slf4j
+@Component
+public class SctCacheWarmer implements HealthIndicator {
+    private final DistributedTransactionManager manager;
+    private final NsMysqlSctRepository sctRepository;
+    private final SctRecordCache recordCache;
+    private final boolean enabled;
+    private final List<Integer> pks;
+    private final int parallelism;
+    private final int pageSize;
+    private final long maxRows;
+    private final long timeBudgetMs;
+    private final AtomicLong rowsLoaded = new AtomicLong();
+    private final AtomicLong partitionsLoaded = new AtomicLong();
+    private final AtomicLong partitionsFailed = new AtomicLong();
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile String outcome = "PENDING";
+
+    public SctCacheWarmer(DistributedTransactionManager manager, NsMysqlSctRepository sctRepository, SctRecordCache recordCache,
+            @Value("${sct.warmup.enabled:false}") boolean enabled,
+            @Value("${sct.warmup.pks:}") String pks,
+            @Value("${sct.warmup.start-pk:#{null}}") Integer startPk,
+            @Value("${sct.warmup.end-pk:#{null}}") Integer endPk,
+            @Value("${sct.warmup.parallelism:4}") int parallelism,
+            @Value("${sct.warmup.page-size:1000}") int pageSize,
+            @Value("${sct.warmup.max-rows:10000}") long maxRows,
+            @Value("${sct.warmup.time-budget-ms:60000}") long timeBudgetMs) {
+        this.manager = manager;
+        this.sctRepository = sctRepository;
+        this.recordCache = recordCache;
+        this.enabled = enabled && recordCache.isEnabled();
+        this.pks = resolvePks(pks, startPk, endPk);
+        this.parallelism = Math.max(1, parallelism);
+        this.pageSize = Math.max(1, pageSize);
+        this.timeBudgetMs = Math.max(0, timeBudgetMs);
+        // Loading more rows than the cache holds would only evict what was loaded first
+        long resolvedMaxRows = Math.max(0, maxRows);
+        if (this.enabled && resolvedMaxRows > recordCache.getMaxSize()) {
+            log.warn("sct.warmup.max-rows ({}) exceeds sct.cache.max-size ({}); capping the row budget", resolvedMaxRows, recordCache.getMaxSize());
+            resolvedMaxRows = recordCache.getMaxSize();
+        }
+        this.maxRows = resolvedMaxRows;
+        if (enabled && !recordCache.isEnabled()) {
+            log.warn("Cache warm-up is enabled but sct.cache.enabled is false; skipping");
+        }
+        if (!this.enabled || this.pks.isEmpty()) {
+            outcome = "SKIPPED";
+        } else if (recordCache.getTtlMs() < this.timeBudgetMs) {
+            // Rows would expire before readiness turns up, so holding readiness back would buy nothing
+            log.warn("sct.cache.ttl-ms ({}) is shorter than sct.warmup.time-budget-ms ({}); skipping cache warm-up",
+                recordCache.getTtlMs(), this.timeBudgetMs);
+            outcome = "SKIPPED";
+        }
+    }
+
+    // Runs off the startup thread so liveness is unaffected while readiness waits
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmUp() {
+        if (!"PENDING".equals(outcome)) {
+            return;
+        }
+        startedAt = System.currentTimeMillis();
+        Thread runner = new Thread(this::warmUp, "sct-cache-warmup");
+        runner.setDaemon(true);
+        runner.start();
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = isSettled() ? Health.up() : Health.outOfService();
+        return builder
+            .withDetail("outcome", outcome)
+            .withDetail("partitions", pks.size())
+            .withDetail("partitionsLoaded", partitionsLoaded.get())
+            .withDetail("partitionsFailed", partitionsFailed.get())
+            .withDetail("rowsLoaded", rowsLoaded.get())
+            .withDetail("elapsedMs", startedAt == 0 ? 0 : (finishedAt > 0 ? finishedAt : System.currentTimeMillis()) - startedAt)
+            .build();
+    }
+
+    // Settled once the warm-up has finished, or its time budget is spent even if a scan is still stuck
+    private boolean isSettled() {
+        if (!"PENDING".equals(outcome) && !"RUNNING".equals(outcome)) {
+            return true;
+        }
+        return startedAt > 0 && System.currentTimeMillis() - startedAt >= timeBudgetMs;
+    }
+
+    private void warmUp() {
+        outcome = "RUNNING";
+        long deadline = startedAt + timeBudgetMs;
+        log.info("Cache warm-up started for {} partitions (row budget {}, time budget {} ms)", pks.size(), maxRows, timeBudgetMs);
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(parallelism, pks.size()));
+        try {
+            for (Integer pk : pks) {
+                workers.execute(() -> warmPartition(pk, deadline));
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+            outcome = rowsLoaded.get() >= maxRows ? "ROW_BUDGET_REACHED"
+                : System.currentTimeMillis() >= deadline ? "TIME_BUDGET_REACHED" : "COMPLETED";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+            outcome = "INTERRUPTED";
+        } finally {
+            finishedAt = System.currentTimeMillis();
+        }
+        log.info("Cache warm-up {}: {} rows from {} partitions ({} failed) in {} ms", outcome, rowsLoaded.get(),
+            partitionsLoaded.get(), partitionsFailed.get(), finishedAt - startedAt);
+    }
+
+    // Keyset-paged read-only scans, stopping at either budget
+    private void warmPartition(Integer pk, long deadline) {
+        Key partitionKey = Key.ofInt(NsMysqlSct.PK, pk);
+        Key lastCk = null;
+        try {
+            while (rowsLoaded.get() < maxRows && System.currentTimeMillis() < deadline && !Thread.currentThread().isInterrupted()) {
+                int limit = (int) Math.min(pageSize, maxRows - rowsLoaded.get());
+                // Rows whose key is written while the page is read are skipped rather than cached stale
+                long[] stamps = recordCache.stampAll();
+                List<NsMysqlSct> page = readPage(sctRepository.buildRangeScan(partitionKey, lastCk, false, null, true, false, limit));
+                for (NsMysqlSct sct : page) {
+                    recordCache.put(sct, stamps);
+                }
+                rowsLoaded.addAndGet(page.size());
+                if (page.size() < limit) {
+                    break;
+                }
+                lastCk = Key.ofInt(NsMysqlSct.CK, page.get(page.size() - 1).getCk());
+            }
+            partitionsLoaded.incrementAndGet();
+        } catch (Exception e) {
+            partitionsFailed.incrementAndGet();
+            log.warn("Cache warm-up of PK {} failed: {}", pk, e.getMessage());
+        }
+    }
+
+    private List<NsMysqlSct> readPage(Scan scan) throws TransactionException {
+        DistributedTransaction transaction = manager.beginReadOnly();
+        try {
+            List<NsMysqlSct> page = sctRepository.scanNsMysqlSct(transaction, scan);
+            transaction.commit();
+            return page;
+        } catch (TransactionException | RuntimeException e) {
+            try {
+                transaction.rollback();
+            } catch (RollbackException ex) {
+                log.error(ex.getMessage(), ex);
+            }
+            throw e;
+        }
+    }
+
+    // The explicit list first, then the inclusive range, without duplicates
+    private static List<Integer> resolvePks(String pks, Integer startPk, Integer endPk) {
+        Set<Integer> resolved = new LinkedHashSet<>();
+        for (String pk : pks.split(",")) {
+            if (!pk.isBlank()) {
+                resolved.add(Integer.parseInt(pk.trim()));
+            }
+        }
+        if (startPk != null && endPk != null) {
+            for (long pk = startPk; pk <= endPk; pk++) {
+                resolved.add((int) pk);
+            }
+        }
+        return new ArrayList<>(resolved);
+    }
+}
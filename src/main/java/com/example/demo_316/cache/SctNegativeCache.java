@@ -0,0 +1,82 @@
+package com.example.demo_316.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Keys recently confirmed missing, so repeated probes for them skip the store
+@Component
+public class SctNegativeCache {
+    private static final int STRIPES = 1024;
+
+    private final boolean enabled;
+    private final Cache<SctCacheKey, Boolean> cache;
+    // Bumped on every write to a key in the stripe; lets a miss read before an insert be dropped instead of cached
+    private final AtomicLongArray writeStamps = new AtomicLongArray(STRIPES);
+
+    public SctNegativeCache(MeterRegistry meterRegistry,
+            @Value("${sct.negative-cache.enabled:false}") boolean enabled,
+            @Value("${sct.negative-cache.max-size:10000}") long maxSize,
+            @Value("${sct.negative-cache.ttl-ms:200}") long ttlMs) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(Math.max(0, maxSize))
+            .expireAfterWrite(Duration.ofMillis(Math.max(1, ttlMs)))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "sct.negative");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isKnownMissing(Integer pk, Integer ck) {
+        return enabled && cache.getIfPresent(new SctCacheKey(pk, ck)) != null;
+    }
+
+    // Take before reading the store, then hand to markMissing if the read found nothing
+    public long stamp(Integer pk, Integer ck) {
+        return writeStamps.get(stripe(pk, ck));
+    }
+
+    public void markMissing(Integer pk, Integer ck, long stamp) {
+        if (!enabled) {
+            return;
+        }
+        SctCacheKey key = new SctCacheKey(pk, ck);
+        int stripe = stripe(pk, ck);
+        if (writeStamps.get(stripe) != stamp) {
+            return;
+        }
+        cache.put(key, Boolean.TRUE);
+        // A write that landed between the check and the put has already invalidated, so undo the put ourselves
+        if (writeStamps.get(stripe) != stamp) {
+            cache.invalidate(key);
+        }
+    }
+
+    public void invalidate(Integer pk, Integer ck) {
+        if (enabled) {
+            writeStamps.incrementAndGet(stripe(pk, ck));
+            cache.invalidate(new SctCacheKey(pk, ck));
+        }
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            writeStamps.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    private static int stripe(Integer pk, Integer ck) {
+        return Objects.hash(pk, ck) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo_316.cache;
+
+import com.example.demo_316.model.NsMysqlSct;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Read-through cache of sct records by (pk, ck); the TTL bounds staleness for writes made by other instances
+@Slf4j
+@Component
+public class SctRecordCache {
+    private static final String NAME = "sct.record";
+    private static final int STRIPES = 1024;
+
+    private final boolean enabled;
+    private final long maxSize;
+    private final long ttlMs;
+    private final SctRecordStore store;
+    // Bumped on every invalidation of a key in the stripe; lets a read that raced a write be dropped instead of cached
+    private final AtomicLongArray writeStamps = new AtomicLongArray(STRIPES);
+
+    public SctRecordCache(MeterRegistry meterRegistry,
+            @Value("${sct.cache.enabled:false}") boolean enabled,
+            @Value("${sct.cache.backend:heap}") String backend,
+            @Value("${sct.cache.max-size:10000}") long maxSize,
+            @Value("${sct.cache.ttl-ms:1000}") long ttlMs,
+            @Value("${sct.cache.offheap.segments:16}") int offHeapSegments,
+            @Value("${sct.cache.offheap.max-value-bytes:256}") int offHeapMaxValueBytes) {
+        this.enabled = enabled;
+        this.maxSize = Math.max(0, maxSize);
+        this.ttlMs = Math.max(1, ttlMs);
+        if (!enabled) {
+            this.store = new CaffeineSctRecordStore(meterRegistry, NAME, 0, ttlMs);
+        } else if ("offheap".equalsIgnoreCase(backend)) {
+            // Keeps millions of entries out of the heap, at the cost of decoding a record on every hit
+            this.store = new OffHeapSctRecordStore(meterRegistry, NAME, maxSize, ttlMs, offHeapSegments, offHeapMaxValueBytes);
+            log.info("Record cache uses the off-heap backend: {} entries, {} MB reserved", maxSize,
+                ((OffHeapSctRecordStore) store).capacityBytes() / (1024 * 1024));
+        } else if ("heap".equalsIgnoreCase(backend)) {
+            this.store = new CaffeineSctRecordStore(meterRegistry, NAME, maxSize, ttlMs);
+        } else {
+            throw new IllegalArgumentException("sct.cache.backend must be heap or offheap, was " + backend);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    public Optional<NsMysqlSct> get(Integer pk, Integer ck) {
+        if (!enabled || pk == null || ck == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(store.get(pk, ck));
+    }
+
+    // Take before reading the store, then hand to put with the row that was read
+    public long stamp(Integer pk, Integer ck) {
+        return writeStamps.get(stripe(pk, ck));
+    }
+
+    // For reads whose keys are not known up front, such as scans: one stamp per stripe
+    public long[] stampAll() {
+        long[] stamps = new long[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stamps[i] = writeStamps.get(i);
+        }
+        return stamps;
+    }
+
+    public void put(NsMysqlSct sct, long[] stamps) {
+        if (enabled && sct.getPk() != null && sct.getCk() != null) {
+            put(sct, stamps[stripe(sct.getPk(), sct.getCk())]);
+        }
+    }
+
+    public void put(NsMysqlSct sct, long stamp) {
+        if (!enabled || sct.getPk() == null || sct.getCk() == null) {
+            return;
+        }
+        int stripe = stripe(sct.getPk(), sct.getCk());
+        if (writeStamps.get(stripe) != stamp) {
+            return;
+        }
+        store.put(sct);
+        // A write that landed between the check and the put has already invalidated, so undo the put ourselves
+        if (writeStamps.get(stripe) != stamp) {
+            store.invalidate(sct.getPk(), sct.getCk());
+        }
+    }
+
+    public void invalidate(Integer pk, Integer ck) {
+        if (enabled && pk != null && ck != null) {
+            writeStamps.incrementAndGet(stripe(pk, ck));
+            store.invalidate(pk, ck);
+        }
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            writeStamps.incrementAndGet(i);
+        }
+        store.invalidateAll();
+    }
+
+    private static int stripe(Integer pk, Integer ck) {
+        return Objects.hash(pk, ck) & (STRIPES - 1);
+    }
+}
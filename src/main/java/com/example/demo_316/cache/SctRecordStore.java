@@ -0,0 +1,14 @@
+package com.example.demo_316.cache;
+
+import com.example.demo_316.model.NsMysqlSct;
+
+// Storage behind SctRecordCache; implementations are bounded and expire entries after the configured TTL
+interface SctRecordStore {
+    NsMysqlSct get(int pk, int ck);
+
+    void put(NsMysqlSct sct);
+
+    void invalidate(int pk, int ck);
+
+    void invalidateAll();
+}
@@ -0,0 +1,104 @@
+package com.example.demo_316.cache;
+
+import com.example.demo_316.dto.NsMysqlSctDto;
+import com.example.demo_316.dto.NsMysqlSctScanDto;
+import com.example.demo_316.dto.PageDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Pages of partition scans keyed by pk, partition version and range; a local write to the pk moves its version on
+@Component
+public class SctScanCache {
+    private final boolean enabled;
+    private final int maxTrackedPartitions;
+    private final Cache<ScanKey, PageDto<NsMysqlSctDto>> cache;
+    // Versions are drawn from one sequence, so a value is never reused once it stops being current
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Integer, Long> versions = new ConcurrentHashMap<>();
+    // Version of every untracked pk; raised whenever the tracked set is dropped
+    private volatile long floor;
+
+    public SctScanCache(MeterRegistry meterRegistry,
+            @Value("${sct.scan-cache.enabled:false}") boolean enabled,
+            @Value("${sct.scan-cache.max-rows:100000}") long maxRows,
+            @Value("${sct.scan-cache.ttl-ms:1000}") long ttlMs,
+            @Value("${sct.scan-cache.max-tracked-partitions:100000}") int maxTrackedPartitions) {
+        this.enabled = enabled;
+        this.maxTrackedPartitions = Math.max(1, maxTrackedPartitions);
+        // Weighted by row count, so a few large pages cannot push memory past the bound
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(Math.max(0, maxRows))
+            .weigher((ScanKey key, PageDto<NsMysqlSctDto> page) -> page.getItems().size() + 1)
+            .expireAfterWrite(Duration.ofMillis(Math.max(1, ttlMs)))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "sct.scan");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Current version of a partition; take it before scanning and pass it back to put
+    public long version(Integer pk) {
+        return pk == null ? floor : versions.getOrDefault(pk, floor);
+    }
+
+    public Optional<PageDto<NsMysqlSctDto>> get(NsMysqlSctScanDto scanDto) {
+        if (!enabled || scanDto.getPk() == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(ScanKey.of(scanDto, version(scanDto.getPk()))));
+    }
+
+    public void put(NsMysqlSctScanDto scanDto, long version, PageDto<NsMysqlSctDto> page) {
+        if (!enabled || scanDto.getPk() == null || version(scanDto.getPk()) != version) {
+            // Written to while we scanned; an entry under the old version could never be read anyway
+            return;
+        }
+        cache.put(ScanKey.of(scanDto, version), PageDto.<NsMysqlSctDto>builder()
+            .items(List.copyOf(page.getItems()))
+            .continuationToken(page.getContinuationToken())
+            .build());
+    }
+
+    // Entries under the previous version become unreachable and age out through size or TTL
+    public void invalidatePartition(Integer pk) {
+        if (!enabled || pk == null) {
+            return;
+        }
+        if (versions.size() >= maxTrackedPartitions) {
+            dropTrackedVersions();
+        }
+        versions.put(pk, sequence.incrementAndGet());
+    }
+
+    public void invalidateAll() {
+        dropTrackedVersions();
+        cache.invalidateAll();
+    }
+
+    private synchronized void dropTrackedVersions() {
+        // Raise the floor before clearing, so no pk ever falls back to a version older than its last write
+        floor = sequence.incrementAndGet();
+        versions.clear();
+    }
+
+    private record ScanKey(Integer pk, long version, Integer startCk, Boolean startInclusive, Integer endCk,
+            Boolean endInclusive, Boolean descending, Integer pageSize, String continuationToken) {
+        static ScanKey of(NsMysqlSctScanDto scanDto, long version) {
+            return new ScanKey(scanDto.getPk(), version, scanDto.getStartCk(), scanDto.getStartInclusive(), scanDto.getEndCk(),
+                scanDto.getEndInclusive(), scanDto.getDescending(), scanDto.getPageSize(), scanDto.getContinuationToken());
+        }
+    }
+}
@@ -1,17 +1,78 @@
 package com.example.demo_316.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 @Configuration
 public class ScalarDbJdbcConfig {
 
+    private static final String POOL_NAME = "scalardb-jdbc";
+
+    private final HikariDataSource dataSource;
+
+    public ScalarDbJdbcConfig(MeterRegistry meterRegistry,
+            @Value("${sct.jdbc.url:jdbc:scalardb:scalardb_sql.properties}") String url,
+            @Value("${sct.jdbc.pool.minimum-idle:4}") int minimumIdle,
+            @Value("${sct.jdbc.pool.maximum-size:16}") int maximumSize,
+            @Value("${sct.jdbc.pool.connection-timeout-ms:5000}") long connectionTimeoutMs,
+            @Value("${sct.jdbc.pool.idle-timeout-ms:600000}") long idleTimeoutMs,
+            @Value("${sct.jdbc.pool.max-lifetime-ms:1800000}") long maxLifetimeMs,
+            @Value("${sct.jdbc.pool.keepalive-time-ms:120000}") long keepaliveTimeMs,
+            @Value("${sct.jdbc.pool.validation-timeout-ms:3000}") long validationTimeoutMs,
+            @Value("${sct.jdbc.pool.connection-test-query:}") String connectionTestQuery) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(POOL_NAME);
+        config.setJdbcUrl(url);
+        // Hikari restores this on every connection handed back, so a borrower that flipped it cannot leak the change
+        config.setAutoCommit(false);
+        config.setMaximumPoolSize(Math.max(1, maximumSize));
+        config.setMinimumIdle(Math.max(0, Math.min(minimumIdle, maximumSize)));
+        config.setConnectionTimeout(connectionTimeoutMs);
+        config.setIdleTimeout(idleTimeoutMs);
+        config.setMaxLifetime(maxLifetimeMs);
+        // Idle connections are validated on this interval and again on borrow once idle past Hikari's bypass window
+        config.setKeepaliveTime(keepaliveTimeMs);
+        config.setValidationTimeout(validationTimeoutMs);
+        if (!connectionTestQuery.isBlank()) {
+            config.setConnectionTestQuery(connectionTestQuery);
+        }
+        // Start even when the cluster is unreachable; connections are retried on demand
+        config.setInitializationFailTimeout(-1);
+        // Publishes hikaricp.connections.acquire (wait time), .usage, .active, .idle, .pending and .timeout
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        this.dataSource = new HikariDataSource(config);
+
+        Gauge.builder("sct.jdbc.pool.utilization", this, ScalarDbJdbcConfig::getUtilization)
+            .description("Active connections as a fraction of the maximum pool size")
+            .tag("pool", POOL_NAME)
+            .register(meterRegistry);
+    }
+
+    // Borrow a pooled connection; closing it returns it to the pool
     public Connection createConnection() throws SQLException {
-        Connection connection = DriverManager.getConnection("jdbc:scalardb:scalardb_sql.properties");
-        connection.setAutoCommit(false);
-        return connection;
+        return dataSource.getConnection();
+    }
+
+    public double getUtilization() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return 0.0;
+        }
+        return (double) pool.getActiveConnections() / dataSource.getMaximumPoolSize();
+    }
+
+    @PreDestroy
+    public void closePool() {
+        dataSource.close();
     }
-}
\ No newline at end of file
+}
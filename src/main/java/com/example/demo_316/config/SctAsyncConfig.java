@@ -0,0 +1,35 @@
+package com.example.demo_316.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class SctAsyncConfig {
+
+    @Value("${sct.async.core-pool-size:16}")
+    private int corePoolSize;
+
+    @Value("${sct.async.max-pool-size:64}")
+    private int maxPoolSize;
+
+    @Value("${sct.async.queue-capacity:1000}")
+    private int queueCapacity;
+
+    // Bounded pool for async ScalarDB calls; a full queue rejects instead of growing without limit
+    @Bean(name = "sctAsyncExecutor")
+    public ThreadPoolTaskExecutor sctAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(Math.max(corePoolSize, maxPoolSize));
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("sct-async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,30 +1,72 @@
 package com.example.demo_316.controller;
 
 import com.example.demo_316.service.NsMysqlSctService;
+import com.example.demo_316.service.NsMysqlSctAsyncService;
+import com.example.demo_316.service.NsMysqlSctImportService;
+import com.example.demo_316.service.NsMysqlSctExportService;
+import com.example.demo_316.service.NsMysqlSctPurgeService;
+import com.example.demo_316.service.NsMysqlSctAggregateService;
 import com.example.demo_316.service.NsMysqlSctErrorService;
 import com.example.demo_316.service.LoadTestService;
 import com.example.demo_316.service.SqlLoadTestService;
+import com.example.demo_316.dto.NsMysqlSctAggregateDto;
+import com.example.demo_316.dto.NsMysqlSctBatchDto;
+import com.example.demo_316.dto.NsMysqlSctBatchResultDto;
+import com.example.demo_316.dto.NsMysqlSctCasDto;
 import com.example.demo_316.dto.NsMysqlSctDto;
+import com.example.demo_316.dto.NsMysqlSctIncrementDto;
+import com.example.demo_316.dto.NsMysqlSctMultiGetDto;
+import com.example.demo_316.dto.NsMysqlSctMultiGetResultDto;
 import com.example.demo_316.dto.NsMysqlSctErrorDto;
+import com.example.demo_316.dto.NsMysqlSctImportResultDto;
+import com.example.demo_316.dto.NsMysqlSctExportDto;
+import com.example.demo_316.dto.NsMysqlSctExportManifestDto;
+import com.example.demo_316.dto.NsMysqlSctPurgeStatusDto;
+import com.example.demo_316.dto.NsMysqlSctScanDto;
+import com.example.demo_316.dto.PageDto;
 import com.example.demo_316.dto.ResponseStatusDto;
 import com.example.demo_316.dto.SqlCommandDto;
 import com.example.demo_316.dto.LoadTestDto;
 import com.example.demo_316.dto.SqlLoadTestDto;
 import com.example.demo_316.dto.LoadTestResultDto;
 import com.example.demo_316.exception.CustomException;
+import com.example.demo_316.util.ContinuationTokenUtil;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RequestMapping(value = "/sct")
 @RestController
 public class NsMysqlSctController {
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private NsMysqlSctService sctService;
 
+    @Autowired
+    private NsMysqlSctAsyncService sctAsyncService;
+
+    @Autowired
+    private NsMysqlSctImportService sctImportService;
+
+    @Autowired
+    private NsMysqlSctExportService sctExportService;
+
+    @Autowired
+    private NsMysqlSctPurgeService sctPurgeService;
+
+    @Autowired
+    private NsMysqlSctAggregateService sctAggregateService;
+
     @Autowired
     private NsMysqlSctErrorService sctErrorService;
 
@@ -40,8 +82,65 @@ public class NsMysqlSctController {
     }
 
     @PostMapping("/upsert")
-    public ResponseEntity<ResponseStatusDto> upsertNsMysqlSct(@RequestBody NsMysqlSctDto sctDto) throws CustomException {
-        return ResponseEntity.ok(sctService.upsertNsMysqlSct(sctDto));
+    public ResponseEntity<ResponseStatusDto> upsertNsMysqlSct(@RequestBody NsMysqlSctDto sctDto,
+            @RequestParam(defaultValue = "true") boolean waitForDurability) throws CustomException {
+        return ResponseEntity.ok(sctService.upsertNsMysqlSct(sctDto, false, waitForDurability));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<NsMysqlSctBatchResultDto> batchNsMysqlSct(@RequestBody NsMysqlSctBatchDto batchDto) throws CustomException {
+        return ResponseEntity.ok(sctService.batchNsMysqlSct(batchDto));
+    }
+
+    @PostMapping("/multiGet")
+    public ResponseEntity<NsMysqlSctMultiGetResultDto> multiGetNsMysqlSct(@RequestBody NsMysqlSctMultiGetDto multiGetDto) throws CustomException {
+        return ResponseEntity.ok(sctService.multiGetNsMysqlSct(multiGetDto));
+    }
+
+    @PostMapping(value = "/import", consumes = {NDJSON, "text/csv"})
+    public ResponseEntity<NsMysqlSctImportResultDto> importNsMysqlSct(InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(value = "operation", required = false) String operation,
+            @RequestParam(value = "chunkSize", required = false) Integer chunkSize,
+            @RequestParam(value = "importId", required = false) String importId) throws CustomException {
+        return ResponseEntity.ok(sctImportService.importNsMysqlSct(body, contentType, operation, chunkSize, importId));
+    }
+
+    @GetMapping("/import/{importId}")
+    public ResponseEntity<NsMysqlSctImportResultDto> getImportProgress(@PathVariable("importId") String importId) throws CustomException {
+        return ResponseEntity.ok(sctImportService.getImportProgress(importId));
+    }
+
+    @PostMapping("/export")
+    public ResponseEntity<NsMysqlSctExportManifestDto> startExport(@RequestBody NsMysqlSctExportDto exportDto) throws CustomException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(sctExportService.startExport(exportDto));
+    }
+
+    @GetMapping("/export/{exportId}")
+    public ResponseEntity<NsMysqlSctExportManifestDto> getExport(@PathVariable("exportId") String exportId) throws CustomException {
+        return ResponseEntity.ok(sctExportService.getExport(exportId));
+    }
+
+    @PostMapping("/purge/{pk}")
+    public ResponseEntity<NsMysqlSctPurgeStatusDto> startPurge(@PathVariable("pk") Integer pk) throws CustomException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(sctPurgeService.startPurge(pk));
+    }
+
+    @GetMapping("/purge/{purgeId}")
+    public ResponseEntity<NsMysqlSctPurgeStatusDto> getPurgeStatus(@PathVariable("purgeId") String purgeId) throws CustomException {
+        return ResponseEntity.ok(sctPurgeService.getPurgeStatus(purgeId));
+    }
+
+    @GetMapping("/aggregate/{pk}")
+    public ResponseEntity<NsMysqlSctAggregateDto> aggregateByPk(@PathVariable("pk") Integer pk) throws CustomException {
+        return ResponseEntity.ok(sctAggregateService.aggregateByPk(pk));
+    }
+
+    @GetMapping("/aggregate")
+    public ResponseEntity<NsMysqlSctAggregateDto> aggregateByPkRange(
+            @RequestParam("startPk") Integer startPk,
+            @RequestParam("endPk") Integer endPk) throws CustomException {
+        return ResponseEntity.ok(sctAggregateService.aggregateByPkRange(startPk, endPk));
     }
 
     @GetMapping("/{pk}/{ck}")
@@ -58,6 +157,16 @@ public class NsMysqlSctController {
         return ResponseEntity.ok(sctService.putNsMysqlSct(sctDto));
     }
 
+    @PutMapping("/cas")
+    public ResponseEntity<NsMysqlSctDto> compareAndSetNsMysqlSct(@RequestBody NsMysqlSctCasDto casDto) throws CustomException {
+        return ResponseEntity.ok(sctService.compareAndSetNsMysqlSct(casDto));
+    }
+
+    @PostMapping("/increment")
+    public ResponseEntity<NsMysqlSctDto> incrementNsMysqlSct(@RequestBody NsMysqlSctIncrementDto incrementDto) throws CustomException {
+        return ResponseEntity.ok(sctService.incrementNsMysqlSct(incrementDto));
+    }
+
     @DeleteMapping("/{pk}/{ck}")
     public ResponseEntity<ResponseStatusDto> deleteNsMysqlSct(@PathVariable("pk") Integer pk, @PathVariable("ck") Integer ck) throws CustomException {
         NsMysqlSctDto sctDto = NsMysqlSctDto.builder()
@@ -67,18 +176,126 @@ public class NsMysqlSctController {
         return ResponseEntity.ok(sctService.deleteNsMysqlSct(sctDto));
     }
 
-    @GetMapping("scanByPk/{pk}")
-    public ResponseEntity<List<NsMysqlSctDto>> getNsMysqlSctByPk(@PathVariable("pk") Integer pk) throws CustomException {
+    @PostMapping("/async")
+    public CompletableFuture<ResponseEntity<ResponseStatusDto>> postNsMysqlSctAsync(@RequestBody NsMysqlSctDto sctDto) {
+        return sctAsyncService.postNsMysqlSct(sctDto).thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/async/upsert")
+    public CompletableFuture<ResponseEntity<ResponseStatusDto>> upsertNsMysqlSctAsync(@RequestBody NsMysqlSctDto sctDto,
+            @RequestParam(defaultValue = "true") boolean waitForDurability) {
+        return sctAsyncService.upsertNsMysqlSct(sctDto, waitForDurability).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/async/{pk}/{ck}")
+    public CompletableFuture<ResponseEntity<NsMysqlSctDto>> getNsMysqlSctAsync(@PathVariable("pk") Integer pk, @PathVariable("ck") Integer ck) {
         NsMysqlSctDto sctDto = NsMysqlSctDto.builder()
             .pk(pk)
+            .ck(ck)
             .build();
-        return ResponseEntity.ok(sctService.getNsMysqlSctListByPk(sctDto));
+        return sctAsyncService.getNsMysqlSct(sctDto).thenApply(ResponseEntity::ok);
+    }
+
+    @PutMapping("/async")
+    public CompletableFuture<ResponseEntity<ResponseStatusDto>> putNsMysqlSctAsync(@RequestBody NsMysqlSctDto sctDto) {
+        return sctAsyncService.putNsMysqlSct(sctDto).thenApply(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/async/{pk}/{ck}")
+    public CompletableFuture<ResponseEntity<ResponseStatusDto>> deleteNsMysqlSctAsync(@PathVariable("pk") Integer pk, @PathVariable("ck") Integer ck) {
+        NsMysqlSctDto sctDto = NsMysqlSctDto.builder()
+            .pk(pk)
+            .ck(ck)
+            .build();
+        return sctAsyncService.deleteNsMysqlSct(sctDto).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("scanByPk/{pk}")
+    public ResponseEntity<List<NsMysqlSctDto>> getNsMysqlSctByPk(@PathVariable("pk") Integer pk,
+            @RequestParam(value = "startCk", required = false) Integer startCk,
+            @RequestParam(value = "startInclusive", defaultValue = "true") Boolean startInclusive,
+            @RequestParam(value = "endCk", required = false) Integer endCk,
+            @RequestParam(value = "endInclusive", defaultValue = "true") Boolean endInclusive,
+            @RequestParam(value = "order", defaultValue = "asc") String order,
+            @RequestParam(value = "pageSize", required = false) Integer pageSize,
+            @RequestParam(value = "token", required = false) String token) throws CustomException {
+        NsMysqlSctScanDto scanDto = NsMysqlSctScanDto.builder()
+            .pk(pk)
+            .startCk(startCk)
+            .startInclusive(startInclusive)
+            .endCk(endCk)
+            .endInclusive(endInclusive)
+            .descending("desc".equalsIgnoreCase(order))
+            .pageSize(pageSize)
+            .continuationToken(token)
+            .build();
+        return toPageResponse(sctService.getNsMysqlSctPageByPk(scanDto));
     }
 
     @GetMapping("/scanAll")
-    public ResponseEntity<List<NsMysqlSctDto>> getNsMysqlSctListAll() throws CustomException {
-        return ResponseEntity.ok(sctService.getNsMysqlSctListAll());
+    public ResponseEntity<List<NsMysqlSctDto>> getNsMysqlSctListAll(
+            @RequestParam(value = "startCk", required = false) Integer startCk,
+            @RequestParam(value = "startInclusive", defaultValue = "true") Boolean startInclusive,
+            @RequestParam(value = "endCk", required = false) Integer endCk,
+            @RequestParam(value = "endInclusive", defaultValue = "true") Boolean endInclusive,
+            @RequestParam(value = "order", required = false) String order,
+            @RequestParam(value = "pageSize", required = false) Integer pageSize,
+            @RequestParam(value = "token", required = false) String token) throws CustomException {
+        // Without paging parameters keep the plain unordered scan, which needs no cross-partition ordering support
+        if (startCk == null && endCk == null && order == null && pageSize == null && token == null) {
+            return ResponseEntity.ok(sctService.getNsMysqlSctListAll());
+        }
+        NsMysqlSctScanDto scanDto = NsMysqlSctScanDto.builder()
+            .startCk(startCk)
+            .startInclusive(startInclusive)
+            .endCk(endCk)
+            .endInclusive(endInclusive)
+            .descending("desc".equalsIgnoreCase(order))
+            .pageSize(pageSize)
+            .continuationToken(token)
+            .build();
+        return toPageResponse(sctService.getNsMysqlSctPageAll(scanDto));
+    }
+
+    private ResponseEntity<List<NsMysqlSctDto>> toPageResponse(PageDto<NsMysqlSctDto> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getContinuationToken() != null) {
+            response.header(ContinuationTokenUtil.HEADER, page.getContinuationToken());
+        }
+        return response.body(page.getItems());
     }
+
+    @GetMapping(value = "/stream/scanByPk/{pk}", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamNsMysqlSctByPk(@PathVariable("pk") Integer pk) {
+        NsMysqlSctDto sctDto = NsMysqlSctDto.builder()
+            .pk(pk)
+            .build();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(NDJSON))
+            .body(outputStream -> {
+                try {
+                    sctService.streamNsMysqlSctByPk(sctDto, outputStream);
+                } catch (CustomException e) {
+                    // The response is already committed, so the stream is cut short
+                    throw new IOException(e.getMessage(), e);
+                }
+            });
+    }
+
+    @GetMapping(value = "/stream/scanAll", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamNsMysqlSctAll() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(NDJSON))
+            .body(outputStream -> {
+                try {
+                    sctService.streamNsMysqlSctAll(outputStream);
+                } catch (CustomException e) {
+                    // The response is already committed, so the stream is cut short
+                    throw new IOException(e.getMessage(), e);
+                }
+            });
+    }
+
     @GetMapping("/scanAllWithReadOnly")
     public ResponseEntity<List<NsMysqlSctDto>> getNsMysqlSctListAllWithReadOnly() throws CustomException {
         return ResponseEntity.ok(sctService.getNsMysqlSctListAllWithReadOnly());
@@ -96,6 +313,7 @@ public class NsMysqlSctController {
             case 9100 -> new ResponseEntity<>(ResponseStatusDto.builder().code(ex.getErrorCode()).message(ex.getMessage()).build(), HttpStatus.BAD_REQUEST);
             case 9200, 9300 -> new ResponseEntity<>(ResponseStatusDto.builder().code(ex.getErrorCode()).message(ex.getMessage()).build(), HttpStatus.INTERNAL_SERVER_ERROR);
             case 9400 -> new ResponseEntity<>(ResponseStatusDto.builder().code(ex.getErrorCode()).message(ex.getMessage()).build(), HttpStatus.BAD_REQUEST);
+            case 9503 -> new ResponseEntity<>(ResponseStatusDto.builder().code(ex.getErrorCode()).message(ex.getMessage()).build(), HttpStatus.SERVICE_UNAVAILABLE);
             default -> new ResponseEntity<>(ResponseStatusDto.builder().code(ex.getErrorCode()).message(ex.getMessage()).build(), HttpStatus.INTERNAL_SERVER_ERROR);
         };
     }
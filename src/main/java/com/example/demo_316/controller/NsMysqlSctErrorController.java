@@ -2,16 +2,22 @@ package com.example.demo_316.controller;
 
 import com.example.demo_316.service.NsMysqlSctErrorService;
 import com.example.demo_316.dto.NsMysqlSctErrorDto;
+import com.example.demo_316.dto.NsMysqlSctErrorScanDto;
+import com.example.demo_316.dto.NsMysqlSctErrorStatsDto;
+import com.example.demo_316.dto.PageDto;
 import com.example.demo_316.dto.ResponseStatusDto;
 import com.example.demo_316.dto.SqlCommandDto;
 import com.example.demo_316.exception.CustomException;
+import com.example.demo_316.util.ContinuationTokenUtil;
 import com.scalar.db.exception.transaction.CrudException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.lang.reflect.InvocationTargetException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RequestMapping(value = "/sctError")
@@ -54,11 +60,34 @@ public class NsMysqlSctErrorController {
     }
 
     @GetMapping("scanByPk/{pk}")
-    public ResponseEntity<List<NsMysqlSctErrorDto>> getNsMysqlSctErrorByPk(@PathVariable("pk") Integer pk) throws CustomException {
-        NsMysqlSctErrorDto sctErrorDto = NsMysqlSctErrorDto.builder()
+    public ResponseEntity<List<NsMysqlSctErrorDto>> getNsMysqlSctErrorByPk(@PathVariable("pk") Integer pk,
+            @RequestParam(value = "startCk", required = false) Integer startCk,
+            @RequestParam(value = "startInclusive", defaultValue = "true") Boolean startInclusive,
+            @RequestParam(value = "endCk", required = false) Integer endCk,
+            @RequestParam(value = "endInclusive", defaultValue = "true") Boolean endInclusive,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "order", defaultValue = "asc") String order,
+            @RequestParam(value = "pageSize", required = false) Integer pageSize,
+            @RequestParam(value = "token", required = false) String token) throws CustomException {
+        NsMysqlSctErrorScanDto scanDto = NsMysqlSctErrorScanDto.builder()
             .pk(pk)
+            .startCk(startCk)
+            .startInclusive(startInclusive)
+            .endCk(endCk)
+            .endInclusive(endInclusive)
+            .from(from)
+            .to(to)
+            .descending("desc".equalsIgnoreCase(order))
+            .pageSize(pageSize)
+            .continuationToken(token)
             .build();
-        return ResponseEntity.ok(sctErrorService.getNsMysqlSctErrorListByPk(sctErrorDto));
+        PageDto<NsMysqlSctErrorDto> page = sctErrorService.getNsMysqlSctErrorPageByPk(scanDto);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getContinuationToken() != null) {
+            response.header(ContinuationTokenUtil.HEADER, page.getContinuationToken());
+        }
+        return response.body(page.getItems());
     }
 
     @GetMapping("/scanAll")
@@ -66,6 +95,11 @@ public class NsMysqlSctErrorController {
         return ResponseEntity.ok(sctErrorService.getNsMysqlSctErrorListAll());
     }
 
+    @GetMapping("/stats")
+    public ResponseEntity<List<NsMysqlSctErrorStatsDto>> getNsMysqlSctErrorStats(@RequestParam(value = "minutes", required = false) Integer minutes) {
+        return ResponseEntity.ok(sctErrorService.getNsMysqlSctErrorStats(minutes));
+    }
+
     @PostMapping("/executeSQL")
     public ResponseEntity<List<NsMysqlSctErrorDto>> executeSQL(@RequestBody SqlCommandDto sqlCommandDto) throws CustomException {
         return ResponseEntity.ok(sctErrorService.executeSQL(sqlCommandDto));
@@ -57,4 +57,7 @@ public class LoadTestDto {
     
     @Builder.Default
     private Boolean isOO = false;
+
+    // TRANSACTION, READ_ONLY or ONE_OPERATION; overrides isOO for selects when set
+    private String readMode;
 }
\ No newline at end of file
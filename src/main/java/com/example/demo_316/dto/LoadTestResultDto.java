@@ -22,11 +22,13 @@ public class LoadTestResultDto {
     private Long statisticsExecutionTimeMs;
     private Long rampUpTimeMs;
     private Double throughputPerMinute;
+    private Map<String, Double> averageLatencyMs;
+    private String readMode;
     private Map<String, Double> ratios;
     private Integer threadCount;
     private Integer exceptionsRecorded;
     private Integer testDurationSeconds;
     private Long actualTestDurationMs;
     private Boolean cleanupExecuted;
-    private Integer cleanupRecordsDeleted;
+    private String cleanupPurgeId;
 }
\ No newline at end of file
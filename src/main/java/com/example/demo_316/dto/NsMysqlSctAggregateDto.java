@@ -0,0 +1,23 @@
+package com.example.demo_316.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NsMysqlSctAggregateDto {
+    private Integer startPk;
+    private Integer endPk;
+    private Integer partitions;
+    private Long count;
+    private Long valueCount;
+    private Long sum;
+    private Long min;
+    private Long max;
+    private Double avg;
+    private Long elapsedMs;
+}
@@ -0,0 +1,19 @@
+package com.example.demo_316.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NsMysqlSctBatchItemDto {
+    // INSERT, UPSERT, UPDATE or DELETE
+    private String operation;
+    private Integer pk;
+    private Integer ck;
+    private String stringValue;
+    private Long bintValue;
+}
@@ -0,0 +1,20 @@
+package com.example.demo_316.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NsMysqlSctBatchResultDto {
+    private Integer transactionsCommitted;
+    private Integer succeeded;
+    private Integer failed;
+    // One status per request item, in request order
+    private List<ResponseStatusDto> itemStatuses;
+}
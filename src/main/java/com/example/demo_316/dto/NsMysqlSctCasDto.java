@@ -0,0 +1,18 @@
+package com.example.demo_316.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NsMysqlSctCasDto {
+    private Integer pk;
+    private Integer ck;
+    // null expects bint_value to be null
+    private Long expectedBintValue;
+    private Long newBintValue;
+}
@@ -0,0 +1,27 @@
+package com.example.demo_316.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NsMysqlSctErrorScanDto {
+    private Integer pk;
+    private Integer startCk;
+    @Builder.Default
+    private Boolean startInclusive = true;
+    private Integer endCk;
+    @Builder.Default
+    private Boolean endInclusive = true;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    @Builder.Default
+    private Boolean descending = false;
+    private Integer pageSize;
+    private String continuationToken;
+}
@@ -0,0 +1,18 @@
+package com.example.demo_316.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NsMysqlSctErrorStatsDto {
+    private LocalDateTime minute;
+    private String exceptionClass;
+    private String operation;
+    private Long count;
+}
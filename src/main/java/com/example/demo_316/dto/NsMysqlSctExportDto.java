@@ -0,0 +1,21 @@
+package com.example.demo_316.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NsMysqlSctExportDto {
+    // Reusing the id of an earlier export resumes it from its manifest
+    private String exportId;
+    private List<Integer> pks;
+    private Integer startPk;
+    private Integer endPk;
+    private String format;
+    private Integer parallelism;
+}
@@ -0,0 +1,22 @@
+package com.example.demo_316.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NsMysqlSctExportManifestDto {
+    private String exportId;
+    private String format;
+    private String status;
+    private String directory;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<NsMysqlSctExportPartitionDto> partitions;
+}
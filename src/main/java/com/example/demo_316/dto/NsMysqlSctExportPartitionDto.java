@@ -0,0 +1,20 @@
+package com.example.demo_316.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NsMysqlSctExportPartitionDto {
+    private Integer pk;
+    private String file;
+    private String status;
+    private Long rows;
+    private LocalDateTime completedAt;
+    private String error;
+}
@@ -0,0 +1,18 @@
+package com.example.demo_316.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NsMysqlSctImportFailureDto {
+    private Long firstLine;
+    private Long lastLine;
+    private Integer rows;
+    private Integer code;
+    private String message;
+}
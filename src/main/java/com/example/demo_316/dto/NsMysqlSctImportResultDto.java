@@ -0,0 +1,23 @@
+package com.example.demo_316.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NsMysqlSctImportResultDto {
+    private String importId;
+    private String status;
+    private Long rowsRead;
+    private Long rowsWritten;
+    private Long rowsFailed;
+    private Long chunksCommitted;
+    private Long chunksFailed;
+    private Long elapsedMs;
+    private List<NsMysqlSctImportFailureDto> failures;
+}
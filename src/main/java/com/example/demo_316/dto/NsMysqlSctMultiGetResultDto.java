@@ -0,0 +1,17 @@
+package com.example.demo_316.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NsMysqlSctMultiGetResultDto {
+    private List<NsMysqlSctDto> found;
+    private List<NsMysqlSctDto> missing;
+}
@@ -0,0 +1,22 @@
+package com.example.demo_316.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NsMysqlSctPurgeStatusDto {
+    private String purgeId;
+    private Integer pk;
+    private String status;
+    private Long rowsDeleted;
+    private Long rowsFailed;
+    private Long batchesCommitted;
+    private Long elapsedMs;
+    private Double rowsPerSecond;
+    private String error;
+}
@@ -0,0 +1,25 @@
+package com.example.demo_316.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NsMysqlSctScanDto {
+    // Null when scanning all partitions
+    private Integer pk;
+    private Integer startCk;
+    @Builder.Default
+    private Boolean startInclusive = true;
+    private Integer endCk;
+    @Builder.Default
+    private Boolean endInclusive = true;
+    @Builder.Default
+    private Boolean descending = false;
+    private Integer pageSize;
+    private String continuationToken;
+}
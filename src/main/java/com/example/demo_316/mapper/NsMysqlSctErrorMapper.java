@@ -4,27 +4,43 @@ import com.example.demo_316.model.NsMysqlSctError;
 import com.example.demo_316.dto.NsMysqlSctErrorDto;
 import java.util.ArrayList;
 import java.util.List;
-import org.modelmapper.ModelMapper;
 
 public class NsMysqlSctErrorMapper {
-    private static final ModelMapper modelMapper = new ModelMapper();
-
     // Convert Model to DTO
     public static NsMysqlSctErrorDto mapToNsMysqlSctErrorDto(NsMysqlSctError sctError) {
-        return modelMapper.map(sctError, NsMysqlSctErrorDto.class);
+        requireSource(sctError);
+        return NsMysqlSctErrorDto.builder()
+            .pk(sctError.getPk())
+            .ck(sctError.getCk())
+            .exception(sctError.getException())
+            .exceptionAt(sctError.getExceptionAt())
+            .build();
     }
 
     // Convert DTO to Model
     public static NsMysqlSctError mapToNsMysqlSctError(NsMysqlSctErrorDto sctErrorDto) {
-        return modelMapper.map(sctErrorDto, NsMysqlSctError.class);
+        requireSource(sctErrorDto);
+        return NsMysqlSctError.builder()
+            .pk(sctErrorDto.getPk())
+            .ck(sctErrorDto.getCk())
+            .exception(sctErrorDto.getException())
+            .exceptionAt(sctErrorDto.getExceptionAt())
+            .build();
     }
 
     // Convert Model List to DTO List
     public static List<NsMysqlSctErrorDto> mapToNsMysqlSctErrorDtoList(List<NsMysqlSctError> sctErrorList) {
-        List<NsMysqlSctErrorDto> sctErrorDtoList = new ArrayList<>();
+        List<NsMysqlSctErrorDto> sctErrorDtoList = new ArrayList<>(sctErrorList.size());
         for (NsMysqlSctError sctError : sctErrorList) {
             sctErrorDtoList.add(mapToNsMysqlSctErrorDto(sctError));
         }
         return sctErrorDtoList;
     }
-}
\ No newline at end of file
+
+    // Same contract as the former ModelMapper path, which rejected a null source
+    private static void requireSource(Object source) {
+        if (source == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+    }
+}
@@ -4,27 +4,43 @@ import com.example.demo_316.model.NsMysqlSct;
 import com.example.demo_316.dto.NsMysqlSctDto;
 import java.util.ArrayList;
 import java.util.List;
-import org.modelmapper.ModelMapper;
 
 public class NsMysqlSctMapper {
-    private static final ModelMapper modelMapper = new ModelMapper();
-
     // Convert Model to DTO
     public static NsMysqlSctDto mapToNsMysqlSctDto(NsMysqlSct sct) {
-        return modelMapper.map(sct, NsMysqlSctDto.class);
+        requireSource(sct);
+        return NsMysqlSctDto.builder()
+            .pk(sct.getPk())
+            .ck(sct.getCk())
+            .stringValue(sct.getStringValue())
+            .bintValue(sct.getBintValue())
+            .build();
     }
 
     // Convert DTO to Model
     public static NsMysqlSct mapToNsMysqlSct(NsMysqlSctDto sctDto) {
-        return modelMapper.map(sctDto, NsMysqlSct.class);
+        requireSource(sctDto);
+        return NsMysqlSct.builder()
+            .pk(sctDto.getPk())
+            .ck(sctDto.getCk())
+            .stringValue(sctDto.getStringValue())
+            .bintValue(sctDto.getBintValue())
+            .build();
     }
 
     // Convert Model List to DTO List
     public static List<NsMysqlSctDto> mapToNsMysqlSctDtoList(List<NsMysqlSct> sctList) {
-        List<NsMysqlSctDto> sctDtoList = new ArrayList<>();
+        List<NsMysqlSctDto> sctDtoList = new ArrayList<>(sctList.size());
         for (NsMysqlSct sct : sctList) {
             sctDtoList.add(mapToNsMysqlSctDto(sct));
         }
         return sctDtoList;
     }
-}
\ No newline at end of file
+
+    // Same contract as the former ModelMapper path, which rejected a null source
+    private static void requireSource(Object source) {
+        if (source == null) {
+            throw new IllegalArgumentException("source cannot be null");
+        }
+    }
+}
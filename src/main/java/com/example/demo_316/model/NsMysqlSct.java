@@ -27,13 +27,13 @@ public class NsMysqlSct {
         if (getPk() == null) {
             throw new IllegalStateException("Partition key (pk) cannot be null");
         }
-        return Key.newBuilder().addInt(PK, getPk()).build();
+        return Key.ofInt(PK, getPk());
     }
 
     public Key getClusteringKey() {
         if (getCk() == null) {
             throw new IllegalStateException("Clustering key (ck) cannot be null");
         }
-        return Key.newBuilder().addInt(CK, getCk()).build();
+        return Key.ofInt(CK, getCk());
     }
 }
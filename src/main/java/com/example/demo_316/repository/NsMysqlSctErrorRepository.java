@@ -130,6 +130,34 @@ public class NsMysqlSctErrorRepository {
         return sctErrorList;
     }
 
+    // Scan Records by Partition Key within a Clustering Key Range
+    public List<NsMysqlSctError> getNsMysqlSctErrorListByRange(DistributedTransaction transaction, Key partitionKey,
+            Key startClusteringKey, boolean startInclusive, Key endClusteringKey, boolean endInclusive,
+            boolean descending, int limit) throws CrudException {
+        ScanBuilder.BuildableScan builder = Scan.newBuilder()
+            .namespace(NsMysqlSctError.NAMESPACE)
+            .table(NsMysqlSctError.TABLE)
+            .partitionKey(partitionKey);
+        if (startClusteringKey != null) {
+            builder = builder.start(startClusteringKey, startInclusive);
+        }
+        if (endClusteringKey != null) {
+            builder = builder.end(endClusteringKey, endInclusive);
+        }
+        Scan scan = builder
+            .ordering(descending ? Scan.Ordering.desc(NsMysqlSctError.CK) : Scan.Ordering.asc(NsMysqlSctError.CK))
+            .ordering(descending ? Scan.Ordering.desc(NsMysqlSctError.EXCEPTION_AT) : Scan.Ordering.asc(NsMysqlSctError.EXCEPTION_AT))
+            .projections(NsMysqlSctError.PK, NsMysqlSctError.CK, NsMysqlSctError.EXCEPTION, NsMysqlSctError.EXCEPTION_AT)
+            .limit(limit)
+            .build();
+        List<Result> results = transaction.scan(scan);
+        List<NsMysqlSctError> sctErrorList = new ArrayList<>(results.size());
+        for (Result result : results) {
+            sctErrorList.add(buildNsMysqlSctError(result));
+        }
+        return sctErrorList;
+    }
+
     // Object Builder from ScalarDB Result
     private NsMysqlSctError buildNsMysqlSctError(Result result) {
         return NsMysqlSctError.builder()
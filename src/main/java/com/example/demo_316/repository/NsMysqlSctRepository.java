@@ -4,6 +4,7 @@ import com.example.demo_316.model.NsMysqlSct;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import com.scalar.db.api.*;
 import com.scalar.db.exception.transaction.*;
@@ -12,39 +13,39 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public class NsMysqlSctRepository {
+    // Immutable operation parts shared by every request
+    private static final List<String> PROJECTIONS =
+        List.of(NsMysqlSct.PK, NsMysqlSct.CK, NsMysqlSct.STRING_VALUE, NsMysqlSct.BINT_VALUE);
+    private static final List<String> VALUE_PROJECTION = List.of(NsMysqlSct.BINT_VALUE);
+    private static final MutationCondition UPDATE_IF_EXISTS = ConditionBuilder.updateIfExists();
+    private static final MutationCondition DELETE_IF_EXISTS = ConditionBuilder.deleteIfExists();
+    private static final Scan.Ordering PK_ASC = Scan.Ordering.asc(NsMysqlSct.PK);
+    private static final Scan.Ordering PK_DESC = Scan.Ordering.desc(NsMysqlSct.PK);
+    private static final Scan.Ordering CK_ASC = Scan.Ordering.asc(NsMysqlSct.CK);
+    private static final Scan.Ordering CK_DESC = Scan.Ordering.desc(NsMysqlSct.CK);
 
     // Get Record by Partition & Clustering Key
     public NsMysqlSct getNsMysqlSct(DistributedTransaction transaction, NsMysqlSct sct) throws CrudException {
-        Key partitionKey = sct.getPartitionKey();
-        Key clusteringKey = sct.getClusteringKey();
-        Get get = Get.newBuilder()
-            .namespace(NsMysqlSct.NAMESPACE)
-            .table(NsMysqlSct.TABLE)
-            .partitionKey(partitionKey)
-            
-            .clusteringKey(clusteringKey)
-            .projections(NsMysqlSct.PK, NsMysqlSct.CK, NsMysqlSct.STRING_VALUE, NsMysqlSct.BINT_VALUE)
-            .build();
-        Optional<Result> result = transaction.get(get);
+        Optional<NsMysqlSct> result = findNsMysqlSct(transaction, sct);
         if (result.isEmpty()) {
             throw new RuntimeException("No record found in NsMysqlSct");
         }
-        return buildNsMysqlSct(result.get());
+        return result.get();
+    }
+
+    // Find Record by Partition & Clustering Key
+    public Optional<NsMysqlSct> findNsMysqlSct(DistributedTransaction transaction, NsMysqlSct sct) throws CrudException {
+        return transaction.get(buildGet(sct)).map(this::buildNsMysqlSct);
+    }
+
+    // Find Record by Partition & Clustering Key with a One-Operation Transaction
+    public Optional<NsMysqlSct> findNsMysqlSctOO(DistributedTransactionManager transaction, NsMysqlSct sct) throws CrudException, UnknownTransactionStatusException {
+        return transaction.get(buildGet(sct)).map(this::buildNsMysqlSct);
     }
 
     // Get Record by Partition & Clustering Key
     public NsMysqlSct getNsMysqlSctOO(DistributedTransactionManager transaction, NsMysqlSct sct) throws CrudException, UnknownTransactionStatusException {
-        Key partitionKey = sct.getPartitionKey();
-        Key clusteringKey = sct.getClusteringKey();
-        Get get = Get.newBuilder()
-                .namespace(NsMysqlSct.NAMESPACE)
-                .table(NsMysqlSct.TABLE)
-                .partitionKey(partitionKey)
-
-                .clusteringKey(clusteringKey)
-                .projections(NsMysqlSct.PK, NsMysqlSct.CK, NsMysqlSct.STRING_VALUE, NsMysqlSct.BINT_VALUE)
-                .build();
-        Optional<Result> result = transaction.get(get);
+        Optional<Result> result = transaction.get(buildGet(sct));
         if (result.isEmpty()) {
             throw new RuntimeException("No record found in NsMysqlSct");
         }
@@ -54,167 +55,256 @@ public class NsMysqlSctRepository {
 
     // Insert Record
     public NsMysqlSct postNsMysqlSct(DistributedTransaction transaction, NsMysqlSct sct) throws CrudException {
-        Key partitionKey = sct.getPartitionKey();
-        Key clusteringKey = sct.getClusteringKey();
-        Insert insert = Insert.newBuilder()
-            .namespace(NsMysqlSct.NAMESPACE)
-            .table(NsMysqlSct.TABLE)
-            .partitionKey(partitionKey)
-            .clusteringKey(clusteringKey)
-            .textValue(NsMysqlSct.STRING_VALUE, sct.getStringValue())
-            .bigIntValue(NsMysqlSct.BINT_VALUE, sct.getBintValue())
-            .build();
-        transaction.insert(insert);
+        transaction.insert(buildInsert(sct));
         return sct;
     }
 
     // Insert Record
     public NsMysqlSct postNsMysqlSctOO(DistributedTransactionManager transaction, NsMysqlSct sct) throws CrudException, UnknownTransactionStatusException {
-        Key partitionKey = sct.getPartitionKey();
-        Key clusteringKey = sct.getClusteringKey();
-        Insert insert = Insert.newBuilder()
-                .namespace(NsMysqlSct.NAMESPACE)
-                .table(NsMysqlSct.TABLE)
-                .partitionKey(partitionKey)
-                .clusteringKey(clusteringKey)
-                .textValue(NsMysqlSct.STRING_VALUE, sct.getStringValue())
-                .bigIntValue(NsMysqlSct.BINT_VALUE, sct.getBintValue())
-                .build();
-        transaction.insert(insert);
+        transaction.insert(buildInsert(sct));
         return sct;
     }
 
 
     // Update Record
     public NsMysqlSct putNsMysqlSct(DistributedTransaction transaction, NsMysqlSct sct) throws CrudException {
-        Key partitionKey = sct.getPartitionKey();
-        Key clusteringKey = sct.getClusteringKey();
-        MutationCondition condition = ConditionBuilder.updateIfExists();
-
-        Update update = Update.newBuilder()
-            .namespace(NsMysqlSct.NAMESPACE)
-            .table(NsMysqlSct.TABLE)
-            .partitionKey(partitionKey)
-            .clusteringKey(clusteringKey)
-            .textValue(NsMysqlSct.STRING_VALUE, sct.getStringValue())
-            .bigIntValue(NsMysqlSct.BINT_VALUE, sct.getBintValue())
-            .condition(condition)
-            .build();
-        transaction.update(update);
+        transaction.update(buildUpdate(sct));
         return sct;
     }
 
     // Update Record
     public NsMysqlSct putNsMysqlSctOO(DistributedTransactionManager transaction, NsMysqlSct sct) throws CrudException, UnknownTransactionStatusException {
-        Key partitionKey = sct.getPartitionKey();
-        Key clusteringKey = sct.getClusteringKey();
-        MutationCondition condition = ConditionBuilder.updateIfExists();
-
-        Update update = Update.newBuilder()
-                .namespace(NsMysqlSct.NAMESPACE)
-                .table(NsMysqlSct.TABLE)
-                .partitionKey(partitionKey)
-                .clusteringKey(clusteringKey)
-                .textValue(NsMysqlSct.STRING_VALUE, sct.getStringValue())
-                .bigIntValue(NsMysqlSct.BINT_VALUE, sct.getBintValue())
-                .condition(condition)
-                .build();
-        transaction.update(update);
+        transaction.update(buildUpdate(sct));
         return sct;
     }
 
     // Upsert Record
     public NsMysqlSct upsertNsMysqlSct(DistributedTransaction transaction, NsMysqlSct sct) throws CrudException {
-        Key partitionKey = sct.getPartitionKey();
-        Key clusteringKey = sct.getClusteringKey();
-        Upsert upsert = Upsert.newBuilder()
-                .namespace(NsMysqlSct.NAMESPACE)
-                .table(NsMysqlSct.TABLE)
-                .partitionKey(partitionKey)
-                .clusteringKey(clusteringKey)
-                .textValue(NsMysqlSct.STRING_VALUE, sct.getStringValue())
-                .bigIntValue(NsMysqlSct.BINT_VALUE, sct.getBintValue())
-                .build();
-        transaction.upsert(upsert);
+        transaction.upsert(buildUpsert(sct));
         return sct;
     }
 
     // Upsert Record
     public NsMysqlSct upsertNsMysqlSctOO(DistributedTransactionManager transaction, NsMysqlSct sct) throws CrudException, UnknownTransactionStatusException {
-        Key partitionKey = sct.getPartitionKey();
-        Key clusteringKey = sct.getClusteringKey();
-        Upsert upsert = Upsert.newBuilder()
-                .namespace(NsMysqlSct.NAMESPACE)
-                .table(NsMysqlSct.TABLE)
-                .partitionKey(partitionKey)
-                .clusteringKey(clusteringKey)
-                .textValue(NsMysqlSct.STRING_VALUE, sct.getStringValue())
-                .bigIntValue(NsMysqlSct.BINT_VALUE, sct.getBintValue())
-                .build();
-        transaction.upsert(upsert);
+        transaction.upsert(buildUpsert(sct));
         return sct;
     }
 
     // Delete Record
     public void deleteNsMysqlSct(DistributedTransaction transaction, NsMysqlSct sct) throws CrudException {
-        Key partitionKey = sct.getPartitionKey();
-        Key clusteringKey = sct.getClusteringKey();
-        MutationCondition condition = ConditionBuilder.deleteIfExists();
-        Delete delete = Delete.newBuilder()
+        transaction.delete(buildDelete(sct));
+    }
+
+    // Delete Record
+    public void deleteNsMysqlSctOO(DistributedTransactionManager transaction, NsMysqlSct sct) throws CrudException, UnknownTransactionStatusException {
+        transaction.delete(buildDelete(sct));
+    }
+
+    // Apply Multiple Mutations in One Transaction
+    public void mutateNsMysqlSct(DistributedTransaction transaction, List<? extends Mutation> mutations) throws CrudException {
+        transaction.mutate(mutations);
+    }
+
+    // Get Operation Builder
+    public Get buildGet(NsMysqlSct sct) {
+        return Get.newBuilder()
             .namespace(NsMysqlSct.NAMESPACE)
             .table(NsMysqlSct.TABLE)
-            .partitionKey(partitionKey)
-            
-            .clusteringKey(clusteringKey)
-            .condition(condition)
+            .partitionKey(sct.getPartitionKey())
+            .clusteringKey(sct.getClusteringKey())
+            .projections(PROJECTIONS)
             .build();
-        transaction.delete(delete);
     }
 
-    // Delete Record
-    public void deleteNsMysqlSctOO(DistributedTransactionManager transaction, NsMysqlSct sct) throws CrudException, UnknownTransactionStatusException {
-        Key partitionKey = sct.getPartitionKey();
-        Key clusteringKey = sct.getClusteringKey();
-        MutationCondition condition = ConditionBuilder.deleteIfExists();
-        Delete delete = Delete.newBuilder()
-                .namespace(NsMysqlSct.NAMESPACE)
-                .table(NsMysqlSct.TABLE)
-                .partitionKey(partitionKey)
+    // Insert Operation Builder
+    public Insert buildInsert(NsMysqlSct sct) {
+        return Insert.newBuilder()
+            .namespace(NsMysqlSct.NAMESPACE)
+            .table(NsMysqlSct.TABLE)
+            .partitionKey(sct.getPartitionKey())
+            .clusteringKey(sct.getClusteringKey())
+            .textValue(NsMysqlSct.STRING_VALUE, sct.getStringValue())
+            .bigIntValue(NsMysqlSct.BINT_VALUE, sct.getBintValue())
+            .build();
+    }
 
-                .clusteringKey(clusteringKey)
-                .condition(condition)
-                .build();
-        transaction.delete(delete);
+    // Update Operation Builder
+    public Update buildUpdate(NsMysqlSct sct) {
+        return Update.newBuilder()
+            .namespace(NsMysqlSct.NAMESPACE)
+            .table(NsMysqlSct.TABLE)
+            .partitionKey(sct.getPartitionKey())
+            .clusteringKey(sct.getClusteringKey())
+            .textValue(NsMysqlSct.STRING_VALUE, sct.getStringValue())
+            .bigIntValue(NsMysqlSct.BINT_VALUE, sct.getBintValue())
+            .condition(UPDATE_IF_EXISTS)
+            .build();
+    }
+
+    // Compare-and-Set Operation Builder: only bint_value changes, and only if it still holds the expected value
+    public Update buildCompareAndSet(NsMysqlSct sct, Long expectedBintValue) {
+        ConditionalExpression expected = expectedBintValue == null
+            ? ConditionBuilder.column(NsMysqlSct.BINT_VALUE).isNullBigInt()
+            : ConditionBuilder.column(NsMysqlSct.BINT_VALUE).isEqualToBigInt(expectedBintValue);
+        return Update.newBuilder()
+            .namespace(NsMysqlSct.NAMESPACE)
+            .table(NsMysqlSct.TABLE)
+            .partitionKey(sct.getPartitionKey())
+            .clusteringKey(sct.getClusteringKey())
+            .bigIntValue(NsMysqlSct.BINT_VALUE, sct.getBintValue())
+            .condition(ConditionBuilder.updateIf(expected).build())
+            .build();
+    }
+
+    // Upsert Operation Builder
+    public Upsert buildUpsert(NsMysqlSct sct) {
+        return Upsert.newBuilder()
+            .namespace(NsMysqlSct.NAMESPACE)
+            .table(NsMysqlSct.TABLE)
+            .partitionKey(sct.getPartitionKey())
+            .clusteringKey(sct.getClusteringKey())
+            .textValue(NsMysqlSct.STRING_VALUE, sct.getStringValue())
+            .bigIntValue(NsMysqlSct.BINT_VALUE, sct.getBintValue())
+            .build();
+    }
+
+    // Delete Operation Builder
+    public Delete buildDelete(NsMysqlSct sct) {
+        return buildDelete(sct, true);
+    }
+
+    public Delete buildDelete(NsMysqlSct sct, boolean ifExists) {
+        DeleteBuilder.Buildable builder = Delete.newBuilder()
+            .namespace(NsMysqlSct.NAMESPACE)
+            .table(NsMysqlSct.TABLE)
+            .partitionKey(sct.getPartitionKey())
+            .clusteringKey(sct.getClusteringKey());
+        if (ifExists) {
+            builder = builder.condition(DELETE_IF_EXISTS);
+        }
+        return builder.build();
     }
 
     // Scan All Records
     public List<NsMysqlSct> getNsMysqlSctListAll(DistributedTransaction transaction) throws CrudException {
+        return buildNsMysqlSctList(transaction.scan(buildScanAll(100)));
+    }
+
+    // Scan Records by Partition Key
+    public List<NsMysqlSct> getNsMysqlSctListByPk(DistributedTransaction transaction, Key partitionKey) throws CrudException {
         Scan scan = Scan.newBuilder()
             .namespace(NsMysqlSct.NAMESPACE)
             .table(NsMysqlSct.TABLE)
-            .all()
-            .projections(NsMysqlSct.PK, NsMysqlSct.CK, NsMysqlSct.STRING_VALUE, NsMysqlSct.BINT_VALUE)
+            .partitionKey(partitionKey)
+            .projections(PROJECTIONS)
             .limit(100)
             .build();
-        List<Result> results = transaction.scan(scan);
-        List<NsMysqlSct> sctList = new ArrayList<>();
-        for (Result result : results) {
-            sctList.add(buildNsMysqlSct(result));
+        return buildNsMysqlSctList(transaction.scan(scan));
+    }
+
+    // Scan Records
+    public List<NsMysqlSct> scanNsMysqlSct(DistributedTransaction transaction, Scan scan) throws CrudException {
+        return buildNsMysqlSctList(transaction.scan(scan));
+    }
+
+    // Scan Records with a One-Operation Transaction
+    public List<NsMysqlSct> scanNsMysqlSctOO(DistributedTransactionManager transaction, Scan scan) throws CrudException, UnknownTransactionStatusException {
+        return buildNsMysqlSctList(transaction.scan(scan));
+    }
+
+    // Cross-Partition Scan Builder without Conditions
+    public Scan buildScanAll(int limit) {
+        return Scan.newBuilder()
+            .namespace(NsMysqlSct.NAMESPACE)
+            .table(NsMysqlSct.TABLE)
+            .all()
+            .projections(PROJECTIONS)
+            .limit(limit)
+            .build();
+    }
+
+    // Range Scan Builder
+    public Scan buildRangeScan(Key partitionKey, Key startClusteringKey, boolean startInclusive,
+            Key endClusteringKey, boolean endInclusive, boolean descending, int limit) {
+        ScanBuilder.BuildableScan builder = Scan.newBuilder()
+            .namespace(NsMysqlSct.NAMESPACE)
+            .table(NsMysqlSct.TABLE)
+            .partitionKey(partitionKey);
+        if (startClusteringKey != null) {
+            builder = builder.start(startClusteringKey, startInclusive);
         }
-        return sctList;
+        if (endClusteringKey != null) {
+            builder = builder.end(endClusteringKey, endInclusive);
+        }
+        return builder
+            .ordering(descending ? CK_DESC : CK_ASC)
+            .projections(PROJECTIONS)
+            .limit(limit)
+            .build();
     }
 
-    // Scan Records by Partition Key
-    public List<NsMysqlSct> getNsMysqlSctListByPk(DistributedTransaction transaction, Key partitionKey) throws CrudException {
+    // Cross-Partition Scan Builder
+    public Scan buildScanAllByConditions(Set<AndConditionSet> conditions, boolean descending, int limit) {
+        Scan.Ordering pkOrdering = descending ? PK_DESC : PK_ASC;
+        Scan.Ordering ckOrdering = descending ? CK_DESC : CK_ASC;
+        if (conditions.isEmpty()) {
+            return Scan.newBuilder()
+                .namespace(NsMysqlSct.NAMESPACE)
+                .table(NsMysqlSct.TABLE)
+                .all()
+                .ordering(pkOrdering)
+                .ordering(ckOrdering)
+                .projections(PROJECTIONS)
+                .limit(limit)
+                .build();
+        }
+        return Scan.newBuilder()
+            .namespace(NsMysqlSct.NAMESPACE)
+            .table(NsMysqlSct.TABLE)
+            .all()
+            .whereOr(conditions)
+            .ordering(pkOrdering)
+            .ordering(ckOrdering)
+            .projections(PROJECTIONS)
+            .limit(limit)
+            .build();
+    }
+
+    // Open a Scanner over Records by Partition Key
+    public TransactionCrudOperable.Scanner getNsMysqlSctScannerByPk(DistributedTransaction transaction, Key partitionKey) throws CrudException {
         Scan scan = Scan.newBuilder()
             .namespace(NsMysqlSct.NAMESPACE)
             .table(NsMysqlSct.TABLE)
             .partitionKey(partitionKey)
-            .projections(NsMysqlSct.PK, NsMysqlSct.CK, NsMysqlSct.STRING_VALUE, NsMysqlSct.BINT_VALUE)
-            .limit(100)
+            .projections(PROJECTIONS)
             .build();
-        List<Result> results = transaction.scan(scan);
-        List<NsMysqlSct> sctList = new ArrayList<>();
+        return transaction.getScanner(scan);
+    }
+
+    // Open a Scanner over the bint_value Column of a Partition
+    public TransactionCrudOperable.Scanner getNsMysqlSctValueScannerByPk(DistributedTransaction transaction, Key partitionKey) throws CrudException {
+        Scan scan = Scan.newBuilder()
+            .namespace(NsMysqlSct.NAMESPACE)
+            .table(NsMysqlSct.TABLE)
+            .partitionKey(partitionKey)
+            .projections(VALUE_PROJECTION)
+            .build();
+        return transaction.getScanner(scan);
+    }
+
+    // Open a Scanner over All Records
+    public TransactionCrudOperable.Scanner getNsMysqlSctScannerAll(DistributedTransaction transaction) throws CrudException {
+        Scan scan = Scan.newBuilder()
+            .namespace(NsMysqlSct.NAMESPACE)
+            .table(NsMysqlSct.TABLE)
+            .all()
+            .projections(PROJECTIONS)
+            .build();
+        return transaction.getScanner(scan);
+    }
+
+    private List<NsMysqlSct> buildNsMysqlSctList(List<Result> results) {
+        List<NsMysqlSct> sctList = new ArrayList<>(results.size());
         for (Result result : results) {
             sctList.add(buildNsMysqlSct(result));
         }
@@ -222,12 +312,12 @@ public class NsMysqlSctRepository {
     }
 
     // Object Builder from ScalarDB Result
-    private NsMysqlSct buildNsMysqlSct(Result result) {
+    public NsMysqlSct buildNsMysqlSct(Result result) {
         return NsMysqlSct.builder()
             .pk(result.getInt(NsMysqlSct.PK))
             .ck(result.getInt(NsMysqlSct.CK))
             .stringValue(result.getText(NsMysqlSct.STRING_VALUE))
-            .bintValue(result.getBigInt(NsMysqlSct.BINT_VALUE))
+            .bintValue(result.isNull(NsMysqlSct.BINT_VALUE) ? null : result.getBigInt(NsMysqlSct.BINT_VALUE))
             .build();
     }
 }
\ No newline at end of file
@@ -1,12 +1,17 @@
 package com.example.demo_316.service;
 
+import com.example.demo_316.cache.SctCacheInvalidator;
 import com.example.demo_316.dto.SqlCommandDto;
 import com.example.demo_316.exception.CustomException;
 import com.example.demo_316.util.GenericSqlUtil;
+import com.example.demo_316.util.SingleFlight;
 import com.scalar.db.exception.transaction.*;
 import com.scalar.db.sql.SqlSession;
 import com.scalar.db.sql.SqlSessionFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Map;
@@ -15,9 +20,22 @@ import java.util.Map;
 @Service
 public class GenericSqlService {
     SqlSessionFactory sqlSessionFactory;
+    boolean singleFlightEnabled;
+    SctCacheInvalidator cacheInvalidator;
+    private final SingleFlight<SqlFlightKey, List<Map<String, Object>>> selectFlight = new SingleFlight<>();
 
-    public GenericSqlService(SqlSessionFactory sqlSessionFactory) {
+    public GenericSqlService(SqlSessionFactory sqlSessionFactory, MeterRegistry meterRegistry, SctCacheInvalidator cacheInvalidator,
+            @Value("${sct.single-flight.enabled:true}") boolean singleFlightEnabled) {
         this.sqlSessionFactory = sqlSessionFactory;
+        this.singleFlightEnabled = singleFlightEnabled;
+        this.cacheInvalidator = cacheInvalidator;
+        // A select already in flight may predate any local write
+        cacheInvalidator.addListener((pk, ck) -> selectFlight.forgetIf(key -> true));
+        cacheInvalidator.addInvalidateAllListener(() -> selectFlight.forgetIf(key -> true));
+        FunctionCounter.builder("sct.single-flight.coalesced", selectFlight, SingleFlight::getCoalescedCount)
+            .description("Requests that shared the result of an identical in-flight request")
+            .tag("operation", "genericSql")
+            .register(meterRegistry);
     }
 
     // Execute SQL Command (Generic - returns Map) - defaults to isOO = false for backward compatibility (explicit transactions)
@@ -27,6 +45,21 @@ public class GenericSqlService {
 
     // Execute SQL Command (Generic - returns Map) with isOO parameter
     public List<Map<String, Object>> executeSQLGeneric(SqlCommandDto sqlCommandDto, boolean isOO) throws CustomException {
+        if (singleFlightEnabled && GenericSqlUtil.isSelect(sqlCommandDto.getSqlCommand())) {
+            return selectFlight.execute(new SqlFlightKey(sqlCommandDto.getSqlCommand(), isOO),
+                () -> doExecuteSQLGeneric(sqlCommandDto, isOO));
+        }
+        try {
+            return doExecuteSQLGeneric(sqlCommandDto, isOO);
+        } finally {
+            // Free-form SQL may touch any key, so every cache layer is dropped
+            if (!GenericSqlUtil.isSelect(sqlCommandDto.getSqlCommand())) {
+                cacheInvalidator.onWriteAll();
+            }
+        }
+    }
+
+    private List<Map<String, Object>> doExecuteSQLGeneric(SqlCommandDto sqlCommandDto, boolean isOO) throws CustomException {
         SqlSession sqlSession = null;
 
         try {
@@ -68,6 +101,9 @@ public class GenericSqlService {
         }
     }
 
+    private record SqlFlightKey(String sql, boolean isOO) {
+    }
+
     private int determineErrorCode(Exception e) {
         if (e instanceof UnsatisfiedConditionException) return 9100;
         if (e instanceof UnknownTransactionStatusException) return 9200;
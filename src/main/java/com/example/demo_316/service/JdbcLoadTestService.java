@@ -4,6 +4,7 @@ import com.example.demo_316.dto.LoadTestDto;
 import com.example.demo_316.dto.LoadTestResultDto;
 import com.example.demo_316.dto.NsMysqlSctDto;
 import com.example.demo_316.dto.NsMysqlSctErrorDto;
+import com.example.demo_316.dto.NsMysqlSctPurgeStatusDto;
 import com.example.demo_316.exception.CustomException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +13,6 @@ import org.springframework.stereotype.Service;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ExecutorService;
@@ -28,6 +28,7 @@ public class JdbcLoadTestService {
     
     private final NsMysqlSctJdbcService jdbcSctService;
     private final NsMysqlSctErrorService sctErrorService;
+    private final NsMysqlSctPurgeService purgeService;
     private final Random random = new Random();
     
     public LoadTestResultDto executeJdbcLoadTest(LoadTestDto loadTestDto) throws CustomException {
@@ -99,14 +100,14 @@ public class JdbcLoadTestService {
 
         // Cleanup if requested
         boolean cleanupExecuted = false;
-        int cleanupRecordsDeleted = 0;
+        String cleanupPurgeId = null;
         
         log.info("JDBC Cleanup check: cleanupAfterTest = {}", loadTestDto.getCleanupAfterTest());
         
         if (loadTestDto.getCleanupAfterTest() != null && loadTestDto.getCleanupAfterTest()) {
             log.info("Executing JDBC cleanup for PK: {}", loadTestDto.getPk());
-            cleanupRecordsDeleted = performCleanup(loadTestDto.getPk());
-            cleanupExecuted = true;
+            cleanupPurgeId = performCleanup(loadTestDto.getPk());
+            cleanupExecuted = cleanupPurgeId != null;
         } else {
             log.info("JDBC cleanup skipped - cleanupAfterTest is false or null");
         }
@@ -147,7 +148,7 @@ public class JdbcLoadTestService {
             .testDurationSeconds(loadTestDto.getTestDurationSeconds())
             .actualTestDurationMs(statisticsTime)
             .cleanupExecuted(cleanupExecuted)
-            .cleanupRecordsDeleted(cleanupRecordsDeleted)
+            .cleanupPurgeId(cleanupPurgeId)
             .build();
     }
     
@@ -460,27 +461,16 @@ public class JdbcLoadTestService {
         return truncated + "\n... [TRUNCATED - Original length: " + message.length() + " chars]";
     }
 
-    private int performCleanup(Integer pk) {
-        int deletedRecords = 0;
+    // Purge the partition in the background; the result carries the purge id to poll at /sct/purge/{purgeId}
+    private String performCleanup(Integer pk) {
         try {
-            // Get all records with the specified PK from sct table using JDBC
-            NsMysqlSctDto searchDto = NsMysqlSctDto.builder().pk(pk).build();
-            List<NsMysqlSctDto> sctRecords = jdbcSctService.selectNsMysqlSctListByPk(searchDto);
-
-            // Delete all sct records only (preserve sct_error records for analysis)
-            for (NsMysqlSctDto record : sctRecords) {
-                try {
-                    jdbcSctService.deleteNsMysqlSct(record);
-                    deletedRecords++;
-                } catch (Exception e) {
-                    log.error("Failed to delete JDBC sct record: {}", e.getMessage());
-                }
-            }
-
-            log.info("JDBC cleanup completed: {} sct records deleted for PK {}. Error records preserved for analysis.", deletedRecords, pk);
+            // Only sct records are purged (sct_error records are preserved for analysis)
+            NsMysqlSctPurgeStatusDto purge = purgeService.startPurge(pk);
+            log.info("JDBC cleanup started as purge {} for PK {}.", purge.getPurgeId(), pk);
+            return purge.getPurgeId();
         } catch (Exception e) {
             log.error("JDBC cleanup failed: {}", e.getMessage());
+            return null;
         }
-        return deletedRecords;
     }
 }
\ No newline at end of file
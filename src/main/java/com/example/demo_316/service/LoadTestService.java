@@ -4,6 +4,7 @@ import com.example.demo_316.dto.LoadTestDto;
 import com.example.demo_316.dto.LoadTestResultDto;
 import com.example.demo_316.dto.NsMysqlSctDto;
 import com.example.demo_316.dto.NsMysqlSctErrorDto;
+import com.example.demo_316.dto.NsMysqlSctPurgeStatusDto;
 import com.example.demo_316.exception.CustomException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +13,6 @@ import org.springframework.stereotype.Service;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ExecutorService;
@@ -28,9 +28,13 @@ public class LoadTestService {
     
     private final NsMysqlSctService sctService;
     private final NsMysqlSctErrorService sctErrorService;
+    private final NsMysqlSctPurgeService purgeService;
     private final Random random = new Random();
     
     public LoadTestResultDto executeLoadTest(LoadTestDto loadTestDto) throws CustomException {
+        // Reject a bad read mode up front rather than after the whole test has run
+        ReadMode readMode = resolveReadMode(loadTestDto);
+
         // Statistics tracking
         AtomicLong totalOperations = new AtomicLong(0);
         AtomicLong statisticsOperations = new AtomicLong(0);
@@ -54,6 +58,9 @@ public class LoadTestService {
         AtomicInteger statsUpdateError = new AtomicInteger(0);
         AtomicInteger statsDeleteError = new AtomicInteger(0);
 
+        // Select latency during statistics period
+        AtomicLong statsSelectLatencyNanos = new AtomicLong(0);
+
         long testStartTime = System.currentTimeMillis();
         long rampUpEndTime = testStartTime + (loadTestDto.getRampUpTimeSeconds() * 1000L);
         long testEndTime = rampUpEndTime + (loadTestDto.getTestDurationSeconds() * 1000L);
@@ -71,7 +78,8 @@ public class LoadTestService {
                 totalOperations, statisticsOperations, exceptionsRecorded,
                 statsInsertCount, statsSelectCount, statsUpdateCount, statsDeleteCount,
                 statsInsertSuccess, statsSelectSuccess, statsUpdateSuccess, statsDeleteSuccess,
-                statsInsertError, statsSelectError, statsUpdateError, statsDeleteError
+                statsInsertError, statsSelectError, statsUpdateError, statsDeleteError,
+                statsSelectLatencyNanos
             ));
         }
 
@@ -99,18 +107,23 @@ public class LoadTestService {
 
         // Cleanup if requested
         boolean cleanupExecuted = false;
-        int cleanupRecordsDeleted = 0;
+        String cleanupPurgeId = null;
         
         log.info("Cleanup check: cleanupAfterTest = {}", loadTestDto.getCleanupAfterTest());
         
         if (loadTestDto.getCleanupAfterTest() != null && loadTestDto.getCleanupAfterTest()) {
             log.info("Executing cleanup for PK: {}", loadTestDto.getPk());
-            cleanupRecordsDeleted = performCleanup(loadTestDto.getPk());
-            cleanupExecuted = true;
+            cleanupPurgeId = performCleanup(loadTestDto.getPk());
+            cleanupExecuted = cleanupPurgeId != null;
         } else {
             log.info("Cleanup skipped - cleanupAfterTest is false or null");
         }
 
+        // Latency is only recorded for successful selects, so average over those alone
+        double averageSelectLatencyMs = statsSelectSuccess.get() > 0
+            ? statsSelectLatencyNanos.get() / 1_000_000.0 / statsSelectSuccess.get()
+            : 0.0;
+
         // Build and return result
         return LoadTestResultDto.builder()
             .totalOperations(totalOperations.intValue())
@@ -137,6 +150,10 @@ public class LoadTestService {
             .statisticsExecutionTimeMs(statisticsTime)
             .rampUpTimeMs(rampUpTime)
             .throughputPerMinute(throughputPerMinute)
+            .averageLatencyMs(Map.of(
+                "select", averageSelectLatencyMs
+            ))
+            .readMode(readMode.name())
             .ratios(Map.of(
                 "select", loadTestDto.getSelectRatio(),
                 "update", loadTestDto.getUpdateRatio(),
@@ -147,7 +164,7 @@ public class LoadTestService {
             .testDurationSeconds(loadTestDto.getTestDurationSeconds())
             .actualTestDurationMs(statisticsTime)
             .cleanupExecuted(cleanupExecuted)
-            .cleanupRecordsDeleted(cleanupRecordsDeleted)
+            .cleanupPurgeId(cleanupPurgeId)
             .build();
     }
     
@@ -159,7 +176,8 @@ public class LoadTestService {
         AtomicInteger statsInsertSuccess, AtomicInteger statsSelectSuccess,
         AtomicInteger statsUpdateSuccess, AtomicInteger statsDeleteSuccess,
         AtomicInteger statsInsertError, AtomicInteger statsSelectError,
-        AtomicInteger statsUpdateError, AtomicInteger statsDeleteError) {
+        AtomicInteger statsUpdateError, AtomicInteger statsDeleteError,
+        AtomicLong statsSelectLatencyNanos) {
         
         // Start each thread with a different initial operationIndex to avoid conflicts
         AtomicInteger operationIndex = new AtomicInteger(threadId * 1000);
@@ -200,14 +218,16 @@ public class LoadTestService {
             for (int i = 0; i < selectLoops; i++) {
                 performSelect(loadTestDto.getPk(), currentCk, threadId, currentOperationIndex,
                             isStatisticsPeriod, totalOperations, statisticsOperations,
-                            statsSelectCount, statsSelectSuccess, statsSelectError, exceptionsRecorded, loadTestDto);
+                            statsSelectCount, statsSelectSuccess, statsSelectError, statsSelectLatencyNanos,
+                            exceptionsRecorded, loadTestDto);
             }
             
             // Additional select loop based on fractional probability
             if (selectFractional > 0 && random.nextDouble() < selectFractional) {
                 performSelect(loadTestDto.getPk(), currentCk, threadId, currentOperationIndex,
                             isStatisticsPeriod, totalOperations, statisticsOperations,
-                            statsSelectCount, statsSelectSuccess, statsSelectError, exceptionsRecorded, loadTestDto);
+                            statsSelectCount, statsSelectSuccess, statsSelectError, statsSelectLatencyNanos,
+                            exceptionsRecorded, loadTestDto);
             }
 
             // Perform UPDATE based on ratio (handle fractional)
@@ -294,7 +314,7 @@ public class LoadTestService {
 
     private void performSelect(Integer pk, Integer ck, int threadId, int operationIndex,
                               boolean isStatisticsPeriod, AtomicLong totalOps, AtomicLong statsOps,
-                              AtomicInteger count, AtomicInteger success, AtomicInteger error, 
+                              AtomicInteger count, AtomicInteger success, AtomicInteger error, AtomicLong latencyNanos,
                               AtomicLong exceptionsRecorded, LoadTestDto loadTestDto) {
         try {
             NsMysqlSctDto selectDto = NsMysqlSctDto.builder()
@@ -302,11 +322,14 @@ public class LoadTestService {
                 .ck(ck)
                 .build();
 
-            sctService.getNsMysqlSct(selectDto, loadTestDto.getIsOO());
+            long selectStart = System.nanoTime();
+            sctService.getNsMysqlSct(selectDto, resolveReadMode(loadTestDto));
+            long selectNanos = System.nanoTime() - selectStart;
 
             totalOps.incrementAndGet();
             if (isStatisticsPeriod) {
                 statsOps.incrementAndGet();
+                latencyNanos.addAndGet(selectNanos);
                 count.incrementAndGet();
                 success.incrementAndGet();
             }
@@ -322,6 +345,18 @@ public class LoadTestService {
         }
     }
 
+    // Explicit readMode wins over the legacy isOO flag
+    private ReadMode resolveReadMode(LoadTestDto loadTestDto) throws CustomException {
+        if (loadTestDto.getReadMode() != null) {
+            try {
+                return ReadMode.valueOf(loadTestDto.getReadMode().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new CustomException(9400, "readMode must be one of TRANSACTION, READ_ONLY or ONE_OPERATION");
+            }
+        }
+        return Boolean.TRUE.equals(loadTestDto.getIsOO()) ? ReadMode.ONE_OPERATION : ReadMode.TRANSACTION;
+    }
+
     private void performUpdate(Integer pk, Integer ck, int threadId, int operationIndex, int updateCount, boolean isFractional,
                               boolean isStatisticsPeriod, AtomicLong totalOps, AtomicLong statsOps,
                               AtomicInteger count, AtomicInteger success, AtomicInteger error, 
@@ -460,27 +495,16 @@ public class LoadTestService {
         return truncated + "\n... [TRUNCATED - Original length: " + message.length() + " chars]";
     }
 
-    private int performCleanup(Integer pk) {
-        int deletedRecords = 0;
+    // Purge the partition in the background; the result carries the purge id to poll at /sct/purge/{purgeId}
+    private String performCleanup(Integer pk) {
         try {
-            // Get all records with the specified PK from sct table
-            NsMysqlSctDto searchDto = NsMysqlSctDto.builder().pk(pk).build();
-            List<NsMysqlSctDto> sctRecords = sctService.getNsMysqlSctListByPk(searchDto);
-
-            // Delete all sct records only (preserve sct_error records for analysis)
-            for (NsMysqlSctDto record : sctRecords) {
-                try {
-                    sctService.deleteNsMysqlSct(record, false);
-                    deletedRecords++;
-                } catch (Exception e) {
-                    log.error("Failed to delete sct record: {}", e.getMessage());
-                }
-            }
-
-            log.info("Cleanup completed: {} sct records deleted for PK {}. Error records preserved for analysis.", deletedRecords, pk);
+            // Only sct records are purged (sct_error records are preserved for analysis)
+            NsMysqlSctPurgeStatusDto purge = purgeService.startPurge(pk);
+            log.info("Cleanup started as purge {} for PK {}.", purge.getPurgeId(), pk);
+            return purge.getPurgeId();
         } catch (Exception e) {
             log.error("Cleanup failed: {}", e.getMessage());
+            return null;
         }
-        return deletedRecords;
     }
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package com.example.demo_316.service;
+
+import com.example.demo_316.dto.NsMysqlSctAggregateDto;
+import com.example.demo_316.exception.CustomException;
+import com.example.demo_316.model.NsMysqlSct;
+import com.example.demo_316.repository.NsMysqlSctRepository;
+import com.scalar.db.api.DistributedTransaction;
+import com.scalar.db.api.DistributedTransactionManager;
+import com.scalar.db.api.Result;
+import com.scalar.db.api.TransactionCrudOperable;
+import com.scalar.db.exception.transaction.*;
+import com.scalar.db.io.Key;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// count/sum/min/max of bint_value computed while streaming, never holding more than one row
+@Slf4j
+@Service
+public class NsMysqlSctAggregateService {
+    private final DistributedTransactionManager manager;
+    private final ExecutorService aggregateExecutor;
+    private final int parallelism;
+
+    @Autowired
+    NsMysqlSctRepository sctRepository;
+
+    @Value("${sct.aggregate.max-partitions:1000}")
+    int maxPartitions;
+
+    public NsMysqlSctAggregateService(DistributedTransactionManager manager,
+            @Value("${sct.aggregate.parallelism:4}") int parallelism) {
+        this.manager = manager;
+        this.parallelism = Math.max(1, parallelism);
+        this.aggregateExecutor = Executors.newFixedThreadPool(this.parallelism);
+    }
+
+    @PreDestroy
+    public void shutdownAggregateExecutor() {
+        aggregateExecutor.shutdownNow();
+    }
+
+    // Aggregate One Partition
+    public NsMysqlSctAggregateDto aggregateByPk(Integer pk) throws CustomException {
+        return aggregateByPkRange(pk, pk);
+    }
+
+    // Aggregate a Range of Partitions, Each on Its Own Scanner
+    public NsMysqlSctAggregateDto aggregateByPkRange(Integer startPk, Integer endPk) throws CustomException {
+        if (startPk == null || endPk == null || startPk > endPk) {
+            throw new CustomException(9400, "startPk and endPk are required with startPk <= endPk");
+        }
+        long partitions = (long) endPk - startPk + 1;
+        if (partitions > maxPartitions) {
+            throw new CustomException(9400, "At most " + maxPartitions + " partitions can be aggregated at once");
+        }
+
+        long started = System.currentTimeMillis();
+        Accumulator total = new Accumulator();
+        if (partitions == 1) {
+            total.merge(aggregatePartition(startPk));
+        } else {
+            // Partitions are dealt round-robin to at most `parallelism` workers; each merges its own partials
+            int workers = (int) Math.min(parallelism, partitions);
+            List<Future<Accumulator>> futures = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                int worker = w;
+                futures.add(aggregateExecutor.submit(() -> {
+                    Accumulator partial = new Accumulator();
+                    for (long pk = (long) startPk + worker; pk <= endPk; pk += workers) {
+                        partial.merge(aggregatePartition((int) pk));
+                    }
+                    return partial;
+                }));
+            }
+            try {
+                for (Future<Accumulator> future : futures) {
+                    total.merge(future.get());
+                }
+            } catch (ArithmeticException e) {
+                // Partials that fit on their own can still overflow once combined here
+                throw new CustomException(e, 9400);
+            } catch (ExecutionException e) {
+                Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                if (cause instanceof CustomException) throw (CustomException) cause;
+                throw new CustomException(cause, determineErrorCode(cause));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CustomException(e, determineErrorCode(e));
+            } finally {
+                for (Future<Accumulator> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+
+        return NsMysqlSctAggregateDto.builder()
+            .startPk(startPk)
+            .endPk(endPk)
+            .partitions((int) partitions)
+            .count(total.count)
+            .valueCount(total.valueCount)
+            .sum(total.valueCount > 0 ? total.sum : null)
+            .min(total.valueCount > 0 ? total.min : null)
+            .max(total.valueCount > 0 ? total.max : null)
+            .avg(total.valueCount > 0 ? (double) total.sum / total.valueCount : null)
+            .elapsedMs(System.currentTimeMillis() - started)
+            .build();
+    }
+
+    private Accumulator aggregatePartition(int pk) throws CustomException {
+        DistributedTransaction transaction = null;
+        TransactionCrudOperable.Scanner scanner = null;
+        try {
+            transaction = manager.beginReadOnly();
+            scanner = sctRepository.getNsMysqlSctValueScannerByPk(transaction, Key.ofInt(NsMysqlSct.PK, pk));
+            Accumulator accumulator = new Accumulator();
+            for (Result result : scanner) {
+                if (result.isNull(NsMysqlSct.BINT_VALUE)) {
+                    accumulator.addNull();
+                } else {
+                    accumulator.add(result.getBigInt(NsMysqlSct.BINT_VALUE));
+                }
+            }
+            scanner.close();
+            scanner = null;
+            transaction.commit();
+            return accumulator;
+        } catch (Exception e) {
+            closeScanner(scanner);
+            handleTransactionException(e, transaction);
+            throw new CustomException(e, determineErrorCode(e));
+        }
+    }
+
+    private void closeScanner(TransactionCrudOperable.Scanner scanner) {
+        if (scanner != null) {
+            try {
+                scanner.close();
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    private void handleTransactionException(Exception e, DistributedTransaction transaction) {
+        log.error(e.getMessage(), e);
+        if (transaction != null) {
+            try {
+                transaction.rollback();
+            } catch (RollbackException ex) {
+                log.error(ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private int determineErrorCode(Exception e) {
+        if (e instanceof UnsatisfiedConditionException) return 9100;
+        if (e instanceof UnknownTransactionStatusException) return 9200;
+        if (e instanceof TransactionException) return 9300;
+        if (e instanceof RuntimeException) return 9400;
+        return 9500;
+    }
+
+    // Primitive running totals; sum overflow raises ArithmeticException rather than wrapping
+    private static final class Accumulator {
+        long count;
+        long valueCount;
+        long sum;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+
+        void add(long value) {
+            count++;
+            valueCount++;
+            sum = Math.addExact(sum, value);
+            if (value < min) min = value;
+            if (value > max) max = value;
+        }
+
+        void addNull() {
+            count++;
+        }
+
+        void merge(Accumulator other) {
+            count += other.count;
+            valueCount += other.valueCount;
+            sum = Math.addExact(sum, other.sum);
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo_316.service;
+
+import com.example.demo_316.dto.NsMysqlSctDto;
+import com.example.demo_316.dto.ResponseStatusDto;
+import com.example.demo_316.exception.CustomException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+// Runs NsMysqlSctService calls on the bounded async executor so request threads are not held
+@Slf4j
+@Service
+public class NsMysqlSctAsyncService {
+    private final NsMysqlSctService sctService;
+    private final ThreadPoolTaskExecutor executor;
+
+    public NsMysqlSctAsyncService(NsMysqlSctService sctService, @Qualifier("sctAsyncExecutor") ThreadPoolTaskExecutor executor) {
+        this.sctService = sctService;
+        this.executor = executor;
+    }
+
+    // Create Record
+    public CompletableFuture<ResponseStatusDto> postNsMysqlSct(NsMysqlSctDto sctDto) {
+        return submit(() -> sctService.postNsMysqlSct(sctDto));
+    }
+
+    // Upsert Record
+    public CompletableFuture<ResponseStatusDto> upsertNsMysqlSct(NsMysqlSctDto sctDto, boolean waitForDurability) {
+        return submit(() -> sctService.upsertNsMysqlSct(sctDto, false, waitForDurability));
+    }
+
+    // Retrieve Record
+    public CompletableFuture<NsMysqlSctDto> getNsMysqlSct(NsMysqlSctDto sctDto) {
+        return submit(() -> sctService.getNsMysqlSct(sctDto));
+    }
+
+    // Update Record
+    public CompletableFuture<ResponseStatusDto> putNsMysqlSct(NsMysqlSctDto sctDto) {
+        return submit(() -> sctService.putNsMysqlSct(sctDto));
+    }
+
+    // Delete Record
+    public CompletableFuture<ResponseStatusDto> deleteNsMysqlSct(NsMysqlSctDto sctDto) {
+        return submit(() -> sctService.deleteNsMysqlSct(sctDto));
+    }
+
+    private <T> CompletableFuture<T> submit(ServiceCall<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return call.call();
+                } catch (CustomException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (TaskRejectedException | RejectedExecutionException e) {
+            log.warn("Async executor saturated: {}", e.getMessage());
+            return CompletableFuture.failedFuture(new CustomException(9503, "Server is busy, retry later"));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ServiceCall<T> {
+        T call() throws CustomException;
+    }
+}
@@ -2,11 +2,15 @@ package com.example.demo_316.service;
 
 import com.example.demo_316.model.NsMysqlSctError;
 import com.example.demo_316.dto.NsMysqlSctErrorDto;
+import com.example.demo_316.dto.NsMysqlSctErrorScanDto;
+import com.example.demo_316.dto.NsMysqlSctErrorStatsDto;
+import com.example.demo_316.dto.PageDto;
 import com.example.demo_316.dto.ResponseStatusDto;
 import com.example.demo_316.dto.SqlCommandDto;
 import com.example.demo_316.exception.CustomException;
 import com.example.demo_316.mapper.NsMysqlSctErrorMapper;
 import com.example.demo_316.repository.NsMysqlSctErrorRepository;
+import com.example.demo_316.util.ContinuationTokenUtil;
 import com.example.demo_316.util.ExecuteSqlUtil;
 import com.scalar.db.api.DistributedTransaction;
 import com.scalar.db.api.DistributedTransactionManager;
@@ -17,6 +21,7 @@ import com.scalar.db.sql.SqlSessionFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -24,12 +29,18 @@ import java.util.Map;
 @Slf4j
 @Service
 public class NsMysqlSctErrorService {
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     DistributedTransactionManager manager;
     SqlSessionFactory sqlSessionFactory;
 
     @Autowired
     NsMysqlSctErrorRepository sctErrorRepository;
 
+    @Autowired
+    NsMysqlSctErrorStatsService sctErrorStatsService;
+
     public NsMysqlSctErrorService(DistributedTransactionManager manager, SqlSessionFactory sqlSessionFactory) throws InstantiationException, IllegalAccessException {
         this.manager = manager;
         this.sqlSessionFactory = sqlSessionFactory;
@@ -64,6 +75,7 @@ public class NsMysqlSctErrorService {
             transaction = manager.start();
             sctError = sctErrorRepository.postNsMysqlSctError(transaction, sctError);
             transaction.commit();
+            sctErrorStatsService.record(sctErrorDto);
             return ResponseStatusDto.builder().code(0).message("").build();
         } catch (Exception e) {
             handleTransactionException(e, transaction);
@@ -79,6 +91,7 @@ public class NsMysqlSctErrorService {
             transaction = manager.start();
             sctError = sctErrorRepository.upsertNsMysqlSctError(transaction, sctError);
             transaction.commit();
+            sctErrorStatsService.record(sctErrorDto);
             return ResponseStatusDto.builder().code(0).message("").build();
         } catch (Exception e) {
             handleTransactionException(e, transaction);
@@ -164,6 +177,87 @@ public class NsMysqlSctErrorService {
         }
     }
 
+    // Retrieve Rolling Error Counts
+    public List<NsMysqlSctErrorStatsDto> getNsMysqlSctErrorStats(Integer minutes) {
+        return sctErrorStatsService.getStats(minutes);
+    }
+
+    // Retrieve a Page of Records by Partition Key within Clustering Key and Time Ranges
+    public PageDto<NsMysqlSctErrorDto> getNsMysqlSctErrorPageByPk(NsMysqlSctErrorScanDto scanDto) throws CustomException {
+        DistributedTransaction transaction = null;
+        try {
+            int pageSize = resolvePageSize(scanDto.getPageSize());
+            boolean descending = Boolean.TRUE.equals(scanDto.getDescending());
+            Key partitionKey = NsMysqlSctError.builder().pk(scanDto.getPk()).build().getPartitionKey();
+
+            // The time range is pushed into the clustering key bounds when it applies to the boundary ck,
+            // and re-checked per row below since exception_at only orders rows within the same ck
+            Key startKey = null;
+            boolean startInclusive = !Boolean.FALSE.equals(scanDto.getStartInclusive());
+            if (scanDto.getStartCk() != null) {
+                startKey = startInclusive && scanDto.getFrom() != null
+                    ? Key.newBuilder().addInt(NsMysqlSctError.CK, scanDto.getStartCk()).addTimestamp(NsMysqlSctError.EXCEPTION_AT, scanDto.getFrom()).build()
+                    : Key.ofInt(NsMysqlSctError.CK, scanDto.getStartCk());
+            }
+            Key endKey = null;
+            boolean endInclusive = !Boolean.FALSE.equals(scanDto.getEndInclusive());
+            if (scanDto.getEndCk() != null) {
+                endKey = endInclusive && scanDto.getTo() != null
+                    ? Key.newBuilder().addInt(NsMysqlSctError.CK, scanDto.getEndCk()).addTimestamp(NsMysqlSctError.EXCEPTION_AT, scanDto.getTo()).build()
+                    : Key.ofInt(NsMysqlSctError.CK, scanDto.getEndCk());
+            }
+
+            // Resume right after the last row of the previous page
+            if (scanDto.getContinuationToken() != null) {
+                String[] parts = ContinuationTokenUtil.decode(scanDto.getContinuationToken(), 2);
+                Key lastKey = Key.newBuilder()
+                    .addInt(NsMysqlSctError.CK, Integer.parseInt(parts[0]))
+                    .addTimestamp(NsMysqlSctError.EXCEPTION_AT, LocalDateTime.parse(parts[1]))
+                    .build();
+                if (descending) {
+                    endKey = lastKey;
+                    endInclusive = false;
+                } else {
+                    startKey = lastKey;
+                    startInclusive = false;
+                }
+            }
+
+            transaction = manager.beginReadOnly();
+            List<NsMysqlSctError> sctErrorList = sctErrorRepository.getNsMysqlSctErrorListByRange(
+                transaction, partitionKey, startKey, startInclusive, endKey, endInclusive, descending, pageSize);
+            transaction.commit();
+
+            List<NsMysqlSctErrorDto> items = new ArrayList<>(sctErrorList.size());
+            for (NsMysqlSctError sctError : sctErrorList) {
+                LocalDateTime exceptionAt = sctError.getExceptionAt();
+                if (scanDto.getFrom() != null && exceptionAt.isBefore(scanDto.getFrom())) continue;
+                if (scanDto.getTo() != null && exceptionAt.isAfter(scanDto.getTo())) continue;
+                items.add(NsMysqlSctErrorMapper.mapToNsMysqlSctErrorDto(sctError));
+            }
+
+            String nextToken = null;
+            if (sctErrorList.size() == pageSize) {
+                NsMysqlSctError last = sctErrorList.get(sctErrorList.size() - 1);
+                nextToken = ContinuationTokenUtil.encode(last.getCk(), last.getExceptionAt());
+            }
+            return PageDto.<NsMysqlSctErrorDto>builder().items(items).continuationToken(nextToken).build();
+        } catch (Exception e) {
+            handleTransactionException(e, transaction);
+            throw new CustomException(e, determineErrorCode(e));
+        }
+    }
+
+    private int resolvePageSize(Integer pageSize) {
+        if (pageSize == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("pageSize must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return pageSize;
+    }
+
     private void handleTransactionException(Exception e, DistributedTransaction transaction) {
         log.error(e.getMessage(), e);
         if (transaction != null) {
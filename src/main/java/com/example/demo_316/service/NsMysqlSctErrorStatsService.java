@@ -0,0 +1,154 @@
+package com.example.demo_316.service;
+
+import com.example.demo_316.dto.NsMysqlSctErrorDto;
+import com.example.demo_316.dto.NsMysqlSctErrorStatsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps rolling per-minute error counts by exception class and operation.
+ * Counts are updated as sct_error records are written, in a ring of one bucket per minute,
+ * so reading them never touches the table.
+ */
+@Slf4j
+@Service
+public class NsMysqlSctErrorStatsService {
+    private static final String UNKNOWN = "UNKNOWN";
+    private static final String OTHER = "OTHER";
+    private static final int MAX_KEYS_PER_BUCKET = 1024;
+    private static final int MAX_OPERATION_LENGTH = 64;
+
+    private final int bucketCount;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public NsMysqlSctErrorStatsService(@Value("${sct.error-stats.buckets:60}") int bucketCount) {
+        if (bucketCount < 1) {
+            throw new IllegalArgumentException("sct.error-stats.buckets must be at least 1");
+        }
+        this.bucketCount = bucketCount;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    // Record an Error
+    public void record(NsMysqlSctErrorDto sctErrorDto) {
+        LocalDateTime at = sctErrorDto.getExceptionAt() != null ? sctErrorDto.getExceptionAt() : LocalDateTime.now();
+        long minute = toEpochMinute(at);
+        if (minute <= toEpochMinute(LocalDateTime.now()) - bucketCount) {
+            return; // Older than the window
+        }
+
+        int index = (int) Math.floorMod(minute, (long) bucketCount);
+        Bucket bucket = buckets.get(index);
+        while (bucket == null || bucket.minute < minute) {
+            Bucket fresh = new Bucket(minute);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                bucket = fresh;
+                break;
+            }
+            bucket = buckets.get(index);
+        }
+        if (bucket.minute != minute) {
+            return; // Slot already rolled over to a newer minute
+        }
+
+        String text = sctErrorDto.getException();
+        StatsKey key = new StatsKey(parseExceptionClass(text), parseOperation(text));
+        if (!bucket.counts.containsKey(key) && bucket.counts.size() >= MAX_KEYS_PER_BUCKET) {
+            key = new StatsKey(OTHER, OTHER);
+        }
+        bucket.counts.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    // Retrieve Counts for the Last N Minutes
+    public List<NsMysqlSctErrorStatsDto> getStats(Integer minutes) {
+        int window = minutes == null ? bucketCount : Math.max(1, Math.min(minutes, bucketCount));
+        long oldest = toEpochMinute(LocalDateTime.now()) - window + 1;
+
+        List<NsMysqlSctErrorStatsDto> stats = new ArrayList<>();
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket == null || bucket.minute < oldest) {
+                continue;
+            }
+            LocalDateTime minute = LocalDateTime.ofEpochSecond(bucket.minute * 60, 0, ZoneOffset.UTC);
+            for (Map.Entry<StatsKey, LongAdder> entry : bucket.counts.entrySet()) {
+                stats.add(NsMysqlSctErrorStatsDto.builder()
+                    .minute(minute)
+                    .exceptionClass(entry.getKey().exceptionClass())
+                    .operation(entry.getKey().operation())
+                    .count(entry.getValue().sum())
+                    .build());
+            }
+        }
+        stats.sort(Comparator.comparing(NsMysqlSctErrorStatsDto::getMinute)
+            .thenComparing(NsMysqlSctErrorStatsDto::getOperation)
+            .thenComparing(NsMysqlSctErrorStatsDto::getExceptionClass));
+        return stats;
+    }
+
+    // The operation is the prefix the load tests write before " failed:"
+    static String parseOperation(String text) {
+        if (text == null) {
+            return UNKNOWN;
+        }
+        int end = text.indexOf(" failed:");
+        if (end <= 0) {
+            return UNKNOWN;
+        }
+        return end > MAX_OPERATION_LENGTH ? text.substring(0, MAX_OPERATION_LENGTH) : text.substring(0, end);
+    }
+
+    // The exception class is the innermost "Caused by:" of the recorded stack trace, or its first frame header
+    static String parseExceptionClass(String text) {
+        if (text == null) {
+            return UNKNOWN;
+        }
+        int start;
+        int causedBy = text.lastIndexOf("Caused by: ");
+        if (causedBy >= 0) {
+            start = causedBy + "Caused by: ".length();
+        } else {
+            int stackTrace = text.indexOf("StackTrace: ");
+            if (stackTrace < 0) {
+                return UNKNOWN;
+            }
+            start = stackTrace + "StackTrace: ".length();
+        }
+        int end = start;
+        while (end < text.length() && (Character.isJavaIdentifierPart(text.charAt(end)) || text.charAt(end) == '.')) {
+            end++;
+        }
+        if (end == start) {
+            return UNKNOWN;
+        }
+        String className = text.substring(start, end);
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    private static long toEpochMinute(LocalDateTime at) {
+        return Math.floorDiv(at.toEpochSecond(ZoneOffset.UTC), 60L);
+    }
+
+    private record StatsKey(String exceptionClass, String operation) {
+    }
+
+    private static final class Bucket {
+        private final long minute;
+        private final Map<StatsKey, LongAdder> counts = new ConcurrentHashMap<>();
+
+        private Bucket(long minute) {
+            this.minute = minute;
+        }
+    }
+}
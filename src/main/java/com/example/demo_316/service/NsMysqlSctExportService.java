@@ -0,0 +1,376 @@
+package com.example.demo_316.service;
+
+import com.example.demo_316.dto.NsMysqlSctDto;
+import com.example.demo_316.dto.NsMysqlSctExportDto;
+import com.example.demo_316.dto.NsMysqlSctExportManifestDto;
+import com.example.demo_316.dto.NsMysqlSctExportPartitionDto;
+import com.example.demo_316.exception.CustomException;
+import com.example.demo_316.mapper.NsMysqlSctMapper;
+import com.example.demo_316.model.NsMysqlSct;
+import com.example.demo_316.repository.NsMysqlSctRepository;
+import com.example.demo_316.util.CsvUtil;
+import com.example.demo_316.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scalar.db.api.DistributedTransaction;
+import com.scalar.db.api.DistributedTransactionManager;
+import com.scalar.db.api.Result;
+import com.scalar.db.api.TransactionCrudOperable;
+import com.scalar.db.exception.transaction.*;
+import com.scalar.db.io.Key;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Service
+public class NsMysqlSctExportService {
+    private static final String MANIFEST_FILE = "manifest.json";
+    private static final String CSV_HEADER = String.join(",", NsMysqlSct.PK, NsMysqlSct.CK, NsMysqlSct.STRING_VALUE, NsMysqlSct.BINT_VALUE);
+
+    @Autowired
+    DistributedTransactionManager manager;
+
+    @Autowired
+    NsMysqlSctRepository sctRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${sct.export.dir:export}")
+    String exportDir;
+
+    @Value("${sct.export.parallelism:4}")
+    int defaultParallelism;
+
+    @Value("${sct.export.max-parallelism:16}")
+    int maxParallelism;
+
+    @Value("${sct.export.max-partitions:10000}")
+    int maxPartitions;
+
+    private final Map<String, NsMysqlSctExportManifestDto> runningExports = new ConcurrentHashMap<>();
+
+    // Start or Resume an Export
+    public NsMysqlSctExportManifestDto startExport(NsMysqlSctExportDto exportDto) throws CustomException {
+        try {
+            String exportId = exportDto.getExportId() != null ? exportDto.getExportId() : UUID.randomUUID().toString();
+            if (!exportId.matches("[A-Za-z0-9_-]{1,64}")) {
+                throw new IllegalArgumentException("exportId may only contain letters, digits, '-' and '_'");
+            }
+            int parallelism = exportDto.getParallelism() != null ? exportDto.getParallelism() : defaultParallelism;
+            if (parallelism < 1 || parallelism > maxParallelism) {
+                throw new IllegalArgumentException("parallelism must be between 1 and " + maxParallelism);
+            }
+
+            Path directory = Paths.get(exportDir, exportId);
+            Path manifestPath = directory.resolve(MANIFEST_FILE);
+            NsMysqlSctExportManifestDto manifest;
+            if (Files.exists(manifestPath)) {
+                // Resume: the manifest fixes format and partitions; only unfinished partitions run again
+                manifest = objectMapper.readValue(manifestPath.toFile(), NsMysqlSctExportManifestDto.class);
+                for (NsMysqlSctExportPartitionDto partition : manifest.getPartitions()) {
+                    if (!"COMPLETED".equals(partition.getStatus()) || !Files.exists(directory.resolve(partition.getFile()))) {
+                        partition.setStatus("PENDING");
+                        partition.setRows(null);
+                        partition.setCompletedAt(null);
+                        partition.setError(null);
+                    }
+                }
+            } else {
+                manifest = newManifest(exportId, directory, exportDto);
+            }
+            manifest.setStatus("RUNNING");
+            manifest.setUpdatedAt(LocalDateTime.now());
+
+            if (runningExports.putIfAbsent(exportId, manifest) != null) {
+                throw new IllegalArgumentException("Export " + exportId + " is already running");
+            }
+            try {
+                Files.createDirectories(directory);
+                writeManifest(directory, manifest);
+                runExport(directory, manifest, parallelism);
+            } catch (IOException | RuntimeException e) {
+                runningExports.remove(exportId);
+                throw e;
+            }
+            return snapshot(manifest);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw new CustomException(e, determineErrorCode(e));
+        }
+    }
+
+    // Retrieve Export Manifest
+    public NsMysqlSctExportManifestDto getExport(String exportId) throws CustomException {
+        try {
+            if (!exportId.matches("[A-Za-z0-9_-]{1,64}")) {
+                throw new IllegalArgumentException("Invalid exportId");
+            }
+            NsMysqlSctExportManifestDto running = runningExports.get(exportId);
+            if (running != null) {
+                return snapshot(running);
+            }
+            Path manifestPath = Paths.get(exportDir, exportId, MANIFEST_FILE);
+            if (!Files.exists(manifestPath)) {
+                throw new IllegalArgumentException("No export found with id " + exportId);
+            }
+            return objectMapper.readValue(manifestPath.toFile(), NsMysqlSctExportManifestDto.class);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            throw new CustomException(e, determineErrorCode(e));
+        }
+    }
+
+    private NsMysqlSctExportManifestDto newManifest(String exportId, Path directory, NsMysqlSctExportDto exportDto) {
+        boolean csv = resolveCsv(exportDto.getFormat());
+        Set<Integer> pks = new LinkedHashSet<>();
+        if (exportDto.getPks() != null) {
+            pks.addAll(exportDto.getPks());
+        }
+        if (exportDto.getStartPk() != null || exportDto.getEndPk() != null) {
+            if (exportDto.getStartPk() == null || exportDto.getEndPk() == null || exportDto.getStartPk() > exportDto.getEndPk()) {
+                throw new IllegalArgumentException("startPk and endPk must both be set with startPk <= endPk");
+            }
+            if ((long) exportDto.getEndPk() - exportDto.getStartPk() >= maxPartitions) {
+                throw new IllegalArgumentException("At most " + maxPartitions + " partitions can be exported at once");
+            }
+            for (int pk = exportDto.getStartPk(); ; pk++) {
+                pks.add(pk);
+                if (pk == exportDto.getEndPk()) {
+                    break;
+                }
+            }
+        }
+        if (pks.isEmpty()) {
+            throw new IllegalArgumentException("pks or startPk/endPk is required");
+        }
+        if (pks.size() > maxPartitions) {
+            throw new IllegalArgumentException("At most " + maxPartitions + " partitions can be exported at once");
+        }
+
+        String extension = csv ? ".csv.gz" : ".ndjson.gz";
+        List<NsMysqlSctExportPartitionDto> partitions = new ArrayList<>(pks.size());
+        for (Integer pk : pks) {
+            partitions.add(NsMysqlSctExportPartitionDto.builder()
+                .pk(pk)
+                .file("pk-" + pk + extension)
+                .status("PENDING")
+                .build());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return NsMysqlSctExportManifestDto.builder()
+            .exportId(exportId)
+            .format(csv ? "csv" : "ndjson")
+            .directory(directory.toAbsolutePath().toString())
+            .createdAt(now)
+            .updatedAt(now)
+            .partitions(partitions)
+            .build();
+    }
+
+    // Partitions run on a per-export pool, each through its own read-only scanner
+    private void runExport(Path directory, NsMysqlSctExportManifestDto manifest, int parallelism) {
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        boolean csv = "csv".equals(manifest.getFormat());
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (NsMysqlSctExportPartitionDto partition : manifest.getPartitions()) {
+            if ("COMPLETED".equals(partition.getStatus())) {
+                continue;
+            }
+            tasks.add(CompletableFuture.runAsync(() -> exportPartition(directory, manifest, partition, csv), pool));
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).whenComplete((ignored, ex) -> {
+            pool.shutdown();
+            synchronized (manifest) {
+                boolean failed = manifest.getPartitions().stream().anyMatch(p -> !"COMPLETED".equals(p.getStatus()));
+                manifest.setStatus(failed ? "FAILED" : "COMPLETED");
+                manifest.setUpdatedAt(LocalDateTime.now());
+                writeManifestQuietly(directory, manifest);
+            }
+            runningExports.remove(manifest.getExportId());
+            log.info("Export {} {}", manifest.getExportId(), manifest.getStatus());
+        });
+    }
+
+    private void exportPartition(Path directory, NsMysqlSctExportManifestDto manifest, NsMysqlSctExportPartitionDto partition, boolean csv) {
+        updatePartition(directory, manifest, partition, "RUNNING", null, null);
+        Path target = directory.resolve(partition.getFile());
+        Path temp = directory.resolve(partition.getFile() + ".part");
+        DistributedTransaction transaction = null;
+        TransactionCrudOperable.Scanner scanner = null;
+        long rows = 0;
+        try {
+            transaction = manager.beginReadOnly();
+            scanner = sctRepository.getNsMysqlSctScannerByPk(transaction, Key.ofInt(NsMysqlSct.PK, partition.getPk()));
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+                rows = csv ? writeCsv(scanner, out) : writeNdjson(scanner, out);
+            }
+            scanner.close();
+            scanner = null;
+            transaction.commit();
+            // The segment only appears under its final name once it is complete
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            updatePartition(directory, manifest, partition, "COMPLETED", rows, null);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            closeScanner(scanner);
+            rollback(transaction);
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ex) {
+                log.error(ex.getMessage(), ex);
+            }
+            updatePartition(directory, manifest, partition, "FAILED", null, e.getMessage());
+        }
+    }
+
+    private long writeNdjson(TransactionCrudOperable.Scanner scanner, OutputStream out) throws IOException {
+        long rows = 0;
+        // Rows are flushed with the file buffers, not one by one
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, NsMysqlSctDto.class, out);
+        for (Result result : scanner) {
+            // Export the DTO, not the model, whose key getters would be serialized as ScalarDB Keys
+            writer.write(NsMysqlSctMapper.mapToNsMysqlSctDto(sctRepository.buildNsMysqlSct(result)));
+            rows++;
+        }
+        writer.close();
+        return rows;
+    }
+
+    private long writeCsv(TransactionCrudOperable.Scanner scanner, OutputStream out) throws IOException {
+        long rows = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        for (Result result : scanner) {
+            NsMysqlSct sct = sctRepository.buildNsMysqlSct(result);
+            writer.write(CsvUtil.escape(sct.getPk()));
+            writer.write(',');
+            writer.write(CsvUtil.escape(sct.getCk()));
+            writer.write(',');
+            writer.write(CsvUtil.escape(sct.getStringValue()));
+            writer.write(',');
+            writer.write(CsvUtil.escape(sct.getBintValue()));
+            writer.write('\n');
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private void updatePartition(Path directory, NsMysqlSctExportManifestDto manifest, NsMysqlSctExportPartitionDto partition,
+            String status, Long rows, String error) {
+        synchronized (manifest) {
+            partition.setStatus(status);
+            partition.setRows(rows);
+            partition.setError(error);
+            partition.setCompletedAt("COMPLETED".equals(status) ? LocalDateTime.now() : null);
+            manifest.setUpdatedAt(LocalDateTime.now());
+            // Only finished partitions need to be durable for resume
+            if (!"RUNNING".equals(status)) {
+                writeManifestQuietly(directory, manifest);
+            }
+        }
+    }
+
+    private void writeManifest(Path directory, NsMysqlSctExportManifestDto manifest) throws IOException {
+        Path temp = directory.resolve(MANIFEST_FILE + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), manifest);
+        Files.move(temp, directory.resolve(MANIFEST_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeManifestQuietly(Path directory, NsMysqlSctExportManifestDto manifest) {
+        try {
+            writeManifest(directory, manifest);
+        } catch (IOException e) {
+            log.error("Writing manifest of export {} failed: {}", manifest.getExportId(), e.getMessage(), e);
+        }
+    }
+
+    private NsMysqlSctExportManifestDto snapshot(NsMysqlSctExportManifestDto manifest) {
+        synchronized (manifest) {
+            List<NsMysqlSctExportPartitionDto> partitions = new ArrayList<>(manifest.getPartitions().size());
+            for (NsMysqlSctExportPartitionDto partition : manifest.getPartitions()) {
+                partitions.add(NsMysqlSctExportPartitionDto.builder()
+                    .pk(partition.getPk())
+                    .file(partition.getFile())
+                    .status(partition.getStatus())
+                    .rows(partition.getRows())
+                    .completedAt(partition.getCompletedAt())
+                    .error(partition.getError())
+                    .build());
+            }
+            return NsMysqlSctExportManifestDto.builder()
+                .exportId(manifest.getExportId())
+                .format(manifest.getFormat())
+                .status(manifest.getStatus())
+                .directory(manifest.getDirectory())
+                .createdAt(manifest.getCreatedAt())
+                .updatedAt(manifest.getUpdatedAt())
+                .partitions(partitions)
+                .build();
+        }
+    }
+
+    private boolean resolveCsv(String format) {
+        if (format == null || format.equalsIgnoreCase("ndjson")) {
+            return false;
+        }
+        if (format.toLowerCase(Locale.ROOT).equals("csv")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + format);
+    }
+
+    private void closeScanner(TransactionCrudOperable.Scanner scanner) {
+        if (scanner != null) {
+            try {
+                scanner.close();
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    private void rollback(DistributedTransaction transaction) {
+        if (transaction != null) {
+            try {
+                transaction.rollback();
+            } catch (RollbackException ex) {
+                log.error(ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private int determineErrorCode(Exception e) {
+        if (e instanceof UnsatisfiedConditionException) return 9100;
+        if (e instanceof UnknownTransactionStatusException) return 9200;
+        if (e instanceof TransactionException) return 9300;
+        if (e instanceof RuntimeException) return 9400;
+        return 9500;
+    }
+}
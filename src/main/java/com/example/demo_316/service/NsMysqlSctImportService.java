@@ -0,0 +1,402 @@
+package com.example.demo_316.service;
+
+import com.example.demo_316.cache.SctCacheInvalidator;
+import com.example.demo_316.dto.NsMysqlSctDto;
+import com.example.demo_316.dto.NsMysqlSctImportFailureDto;
+import com.example.demo_316.dto.NsMysqlSctImportResultDto;
+import com.example.demo_316.exception.CustomException;
+import com.example.demo_316.mapper.NsMysqlSctMapper;
+import com.example.demo_316.model.NsMysqlSct;
+import com.example.demo_316.repository.NsMysqlSctRepository;
+import com.example.demo_316.util.CsvUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scalar.db.api.DistributedTransaction;
+import com.scalar.db.api.DistributedTransactionManager;
+import com.scalar.db.api.Mutation;
+import com.scalar.db.exception.transaction.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class NsMysqlSctImportService {
+    private static final int MAX_CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_FAILURES = 100;
+    private static final int RETAINED_IMPORTS = 100;
+    private static final ImportRow END = new ImportRow(-1, null);
+
+    @Autowired
+    DistributedTransactionManager manager;
+
+    @Autowired
+    NsMysqlSctRepository sctRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    SctCacheInvalidator cacheInvalidator;
+
+    @Value("${sct.import.writers:4}")
+    int writerCount;
+
+    @Value("${sct.import.chunk-size:100}")
+    int defaultChunkSize;
+
+    @Value("${sct.import.queue-capacity:1000}")
+    int queueCapacity;
+
+    @Value("${sct.import.progress-rows:100000}")
+    long progressRows;
+
+    // Running and recently finished imports, oldest evicted first
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > RETAINED_IMPORTS;
+        }
+    });
+
+    // Import NDJSON or CSV Rows
+    public NsMysqlSctImportResultDto importNsMysqlSct(InputStream body, String format, String operation,
+            Integer chunkSize, String importId) throws CustomException {
+        boolean csv;
+        boolean insert;
+        int resolvedChunkSize;
+        try {
+            csv = resolveCsv(format);
+            insert = resolveInsert(operation);
+            resolvedChunkSize = resolveChunkSize(chunkSize);
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(e, 9400);
+        }
+
+        ImportJob job = new ImportJob(importId != null ? importId : UUID.randomUUID().toString());
+        if (jobs.putIfAbsent(job.id, job) != null) {
+            throw new CustomException(9400, "Import id already in use: " + job.id);
+        }
+
+        // Rows of one pk always land on the same writer, so a partition is written by one thread
+        int writers = Math.max(1, writerCount);
+        List<BlockingQueue<ImportRow>> queues = new ArrayList<>(writers);
+        ExecutorService writerPool = Executors.newFixedThreadPool(writers);
+        List<Future<?>> writerTasks = new ArrayList<>(writers);
+        for (int i = 0; i < writers; i++) {
+            BlockingQueue<ImportRow> queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+            queues.add(queue);
+            writerTasks.add(writerPool.submit(() -> runWriter(job, queue, resolvedChunkSize)));
+        }
+
+        String finalStatus = "COMPLETED";
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            CsvHeader header = null;
+            long nextLine = 1;
+            String line;
+            // A CSV record may span lines when a quoted field holds a line break
+            while ((line = csv ? CsvUtil.readRecord(reader) : reader.readLine()) != null) {
+                long lineNumber = nextLine;
+                nextLine += 1 + lineBreaks(line);
+                if (line.isBlank()) {
+                    continue;
+                }
+                NsMysqlSct sct;
+                try {
+                    if (csv) {
+                        List<String> fields = CsvUtil.parseLine(line);
+                        if (header == null) {
+                            header = CsvHeader.of(fields);
+                            if (header.isHeaderLine()) {
+                                continue;
+                            }
+                        }
+                        sct = header.toNsMysqlSct(fields);
+                    } else {
+                        sct = NsMysqlSctMapper.mapToNsMysqlSct(objectMapper.readValue(line, NsMysqlSctDto.class));
+                    }
+                    sct.getPartitionKey();
+                    sct.getClusteringKey();
+                } catch (IOException | RuntimeException e) {
+                    job.rowsRead.incrementAndGet();
+                    job.recordFailure(lineNumber, lineNumber, 1, 9400, e.getMessage());
+                    continue;
+                }
+                Mutation mutation = insert ? sctRepository.buildInsert(sct) : sctRepository.buildUpsert(sct);
+                queues.get(Math.floorMod(sct.getPk(), writers)).put(new ImportRow(lineNumber, mutation));
+                long read = job.rowsRead.incrementAndGet();
+                if (progressRows > 0 && read % progressRows == 0) {
+                    log.info("Import {}: {} rows read, {} written, {} failed", job.id, read, job.rowsWritten.get(), job.rowsFailed.get());
+                }
+            }
+        } catch (IOException e) {
+            log.error(e.getMessage(), e);
+            finalStatus = "FAILED";
+            job.recordFailure(null, null, 0, 9500, "Reading the upload failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finalStatus = "FAILED";
+            job.recordFailure(null, null, 0, 9500, "Import interrupted");
+        } finally {
+            for (BlockingQueue<ImportRow> queue : queues) {
+                try {
+                    queue.put(END);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    writerPool.shutdownNow();
+                }
+            }
+            awaitWriters(writerPool, writerTasks);
+            job.finishedAt = System.currentTimeMillis();
+            job.status = finalStatus;
+        }
+        log.info("Import {} {}: {} rows read, {} written, {} failed", job.id, job.status, job.rowsRead.get(), job.rowsWritten.get(), job.rowsFailed.get());
+        return job.snapshot();
+    }
+
+    // Retrieve Import Progress
+    public NsMysqlSctImportResultDto getImportProgress(String importId) throws CustomException {
+        ImportJob job = jobs.get(importId);
+        if (job == null) {
+            throw new CustomException(9400, "No import found with id " + importId);
+        }
+        return job.snapshot();
+    }
+
+    private void runWriter(ImportJob job, BlockingQueue<ImportRow> queue, int chunkSize) {
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        try {
+            while (true) {
+                ImportRow row = queue.take();
+                if (row == END) {
+                    break;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    commitChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!chunk.isEmpty()) {
+            commitChunk(job, chunk);
+        }
+    }
+
+    private void commitChunk(ImportJob job, List<ImportRow> chunk) {
+        List<Mutation> mutations = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            mutations.add(row.mutation());
+        }
+        DistributedTransaction transaction = null;
+        try {
+            transaction = manager.start();
+            sctRepository.mutateNsMysqlSct(transaction, mutations);
+            transaction.commit();
+            job.rowsWritten.addAndGet(chunk.size());
+            job.chunksCommitted.incrementAndGet();
+        } catch (Exception e) {
+            handleTransactionException(e, transaction);
+            job.chunksFailed.incrementAndGet();
+            job.recordFailure(chunk.get(0).line(), chunk.get(chunk.size() - 1).line(), chunk.size(), determineErrorCode(e), e.getMessage());
+        } finally {
+            cacheInvalidator.onWrite(mutations);
+        }
+    }
+
+    private void awaitWriters(ExecutorService writerPool, List<Future<?>> writerTasks) {
+        writerPool.shutdown();
+        for (Future<?> task : writerTasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writerPool.shutdownNow();
+                return;
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+        }
+        try {
+            writerPool.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean resolveCsv(String format) {
+        if (format == null) {
+            return false;
+        }
+        String normalized = format.toLowerCase(Locale.ROOT);
+        if (normalized.contains("csv")) {
+            return true;
+        }
+        if (normalized.contains("ndjson") || normalized.contains("json")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + format);
+    }
+
+    private boolean resolveInsert(String operation) {
+        if (operation == null || operation.equalsIgnoreCase("UPSERT")) {
+            return false;
+        }
+        if (operation.equalsIgnoreCase("INSERT")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported import operation: " + operation);
+    }
+
+    // Keeps reported line numbers aligned with the file when a record spans lines
+    private static int lineBreaks(String record) {
+        int count = 0;
+        for (int i = record.indexOf('\n'); i >= 0; i = record.indexOf('\n', i + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    private int resolveChunkSize(Integer chunkSize) {
+        int size = chunkSize != null ? chunkSize : defaultChunkSize;
+        if (size < 1 || size > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunkSize must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+        return size;
+    }
+
+    private void handleTransactionException(Exception e, DistributedTransaction transaction) {
+        log.error(e.getMessage(), e);
+        if (transaction != null) {
+            try {
+                transaction.rollback();
+            } catch (RollbackException ex) {
+                log.error(ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private int determineErrorCode(Exception e) {
+        if (e instanceof UnsatisfiedConditionException) return 9100;
+        if (e instanceof UnknownTransactionStatusException) return 9200;
+        if (e.getClass().getSimpleName().equals("CommitConflictException")
+            || e.getClass().getSimpleName().equals("CrudConflictException")) return 9150;
+        if (e instanceof TransactionException) return 9300;
+        if (e instanceof RuntimeException) return 9400;
+        return 9500;
+    }
+
+    private record ImportRow(long line, Mutation mutation) {
+    }
+
+    // Column positions of a CSV upload; without a header the order is pk, ck, string_value, bint_value
+    private record CsvHeader(boolean isHeaderLine, int pk, int ck, int stringValue, int bintValue) {
+        static CsvHeader of(List<String> firstLine) {
+            String first = firstLine.get(0) != null ? firstLine.get(0).trim() : "";
+            if (first.matches("-?\\d+")) {
+                return new CsvHeader(false, 0, 1, 2, 3);
+            }
+            int pk = -1, ck = -1, stringValue = -1, bintValue = -1;
+            for (int i = 0; i < firstLine.size(); i++) {
+                String name = firstLine.get(i) == null ? "" : firstLine.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT);
+                switch (name) {
+                    case "pk" -> pk = i;
+                    case "ck" -> ck = i;
+                    case "stringvalue" -> stringValue = i;
+                    case "bintvalue" -> bintValue = i;
+                    default -> { }
+                }
+            }
+            if (pk < 0 || ck < 0) {
+                throw new IllegalArgumentException("CSV header must name pk and ck columns");
+            }
+            return new CsvHeader(true, pk, ck, stringValue, bintValue);
+        }
+
+        NsMysqlSct toNsMysqlSct(List<String> fields) {
+            String bint = field(fields, bintValue);
+            return NsMysqlSct.builder()
+                .pk(Integer.valueOf(field(fields, pk).trim()))
+                .ck(Integer.valueOf(field(fields, ck).trim()))
+                .stringValue(field(fields, stringValue))
+                .bintValue(bint != null ? Long.valueOf(bint.trim()) : null)
+                .build();
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index) : null;
+        }
+    }
+
+    private static class ImportJob {
+        final String id;
+        final long startedAt = System.currentTimeMillis();
+        final AtomicLong rowsRead = new AtomicLong();
+        final AtomicLong rowsWritten = new AtomicLong();
+        final AtomicLong rowsFailed = new AtomicLong();
+        final AtomicLong chunksCommitted = new AtomicLong();
+        final AtomicLong chunksFailed = new AtomicLong();
+        final List<NsMysqlSctImportFailureDto> failures = new ArrayList<>();
+        volatile String status = "RUNNING";
+        volatile long finishedAt;
+
+        ImportJob(String id) {
+            this.id = id;
+        }
+
+        void recordFailure(Long firstLine, Long lastLine, int rows, int code, String message) {
+            rowsFailed.addAndGet(rows);
+            synchronized (failures) {
+                if (failures.size() < MAX_REPORTED_FAILURES) {
+                    failures.add(NsMysqlSctImportFailureDto.builder()
+                        .firstLine(firstLine)
+                        .lastLine(lastLine)
+                        .rows(rows)
+                        .code(code)
+                        .message(message)
+                        .build());
+                }
+            }
+        }
+
+        NsMysqlSctImportResultDto snapshot() {
+            List<NsMysqlSctImportFailureDto> failureCopy;
+            synchronized (failures) {
+                failureCopy = new ArrayList<>(failures);
+            }
+            long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+            return NsMysqlSctImportResultDto.builder()
+                .importId(id)
+                .status(status)
+                .rowsRead(rowsRead.get())
+                .rowsWritten(rowsWritten.get())
+                .rowsFailed(rowsFailed.get())
+                .chunksCommitted(chunksCommitted.get())
+                .chunksFailed(chunksFailed.get())
+                .elapsedMs(end - startedAt)
+                .failures(failureCopy)
+                .build();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.demo_316.service;
 
+import com.example.demo_316.cache.SctCacheInvalidator;
 import com.example.demo_316.config.ScalarDbJdbcConfig;
 import com.example.demo_316.dto.NsMysqlSctDto;
 import com.example.demo_316.exception.CustomException;
@@ -20,6 +21,7 @@ import java.util.List;
 public class NsMysqlSctJdbcService {
     
     private final ScalarDbJdbcConfig jdbcConfig;
+    private final SctCacheInvalidator cacheInvalidator;
     
     private static final String INSERT_SQL = "INSERT INTO sct (pk, ck, string_value, bint_value) VALUES (?, ?, ?, ?)";
     private static final String SELECT_SQL = "SELECT pk, ck, string_value, bint_value FROM sct WHERE pk = ? AND ck = ?";
@@ -42,6 +44,8 @@ public class NsMysqlSctJdbcService {
             return dto;
         } catch (SQLException e) {
             throw mapSqlException(e, "INSERT");
+        } finally {
+            cacheInvalidator.onWrite(dto.getPk(), dto.getCk());
         }
     }
     
@@ -112,6 +116,8 @@ public class NsMysqlSctJdbcService {
             return dto;
         } catch (SQLException e) {
             throw mapSqlException(e, "UPDATE");
+        } finally {
+            cacheInvalidator.onWrite(dto.getPk(), dto.getCk());
         }
     }
     
@@ -130,6 +136,8 @@ public class NsMysqlSctJdbcService {
             connection.commit();
         } catch (SQLException e) {
             throw mapSqlException(e, "DELETE");
+        } finally {
+            cacheInvalidator.onWrite(dto.getPk(), dto.getCk());
         }
     }
     
@@ -0,0 +1,230 @@
+package com.example.demo_316.service;
+
+import com.example.demo_316.cache.SctCacheInvalidator;
+import com.example.demo_316.dto.NsMysqlSctPurgeStatusDto;
+import com.example.demo_316.exception.CustomException;
+import com.example.demo_316.model.NsMysqlSct;
+import com.example.demo_316.repository.NsMysqlSctRepository;
+import com.scalar.db.api.DistributedTransaction;
+import com.scalar.db.api.DistributedTransactionManager;
+import com.scalar.db.api.Mutation;
+import com.scalar.db.api.Scan;
+import com.scalar.db.exception.transaction.*;
+import com.scalar.db.io.Key;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Deletes every row of a partition in the background: keyset-paged reads feed batched deletes on parallel workers
+@Slf4j
+@Service
+public class NsMysqlSctPurgeService {
+    private static final int RETAINED_PURGES = 100;
+
+    @Autowired
+    DistributedTransactionManager manager;
+
+    @Autowired
+    NsMysqlSctRepository sctRepository;
+
+    @Autowired
+    SctCacheInvalidator cacheInvalidator;
+
+    @Value("${sct.purge.page-size:1000}")
+    int pageSize;
+
+    @Value("${sct.purge.batch-size:100}")
+    int batchSize;
+
+    @Value("${sct.purge.workers:4}")
+    int workers;
+
+    private final ExecutorService purgeRunner;
+
+    // Running and recently finished purges, oldest evicted first
+    private final Map<String, PurgeJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PurgeJob> eldest) {
+            return size() > RETAINED_PURGES;
+        }
+    });
+
+    public NsMysqlSctPurgeService(@Value("${sct.purge.max-concurrent:2}") int maxConcurrent) {
+        this.purgeRunner = Executors.newFixedThreadPool(Math.max(1, maxConcurrent));
+    }
+
+    @PreDestroy
+    public void shutdownPurgeRunner() {
+        purgeRunner.shutdownNow();
+    }
+
+    // Start Purging a Partition
+    public NsMysqlSctPurgeStatusDto startPurge(Integer pk) throws CustomException {
+        if (pk == null) {
+            throw new CustomException(9400, "pk is required");
+        }
+        PurgeJob job = new PurgeJob(UUID.randomUUID().toString(), pk);
+        jobs.put(job.id, job);
+        try {
+            purgeRunner.execute(() -> runPurge(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new CustomException(9503, "Purge runner is shut down");
+        }
+        log.info("Purge {} queued for PK {}", job.id, pk);
+        return job.snapshot();
+    }
+
+    // Retrieve Purge Status
+    public NsMysqlSctPurgeStatusDto getPurgeStatus(String purgeId) throws CustomException {
+        PurgeJob job = jobs.get(purgeId);
+        if (job == null) {
+            throw new CustomException(9400, "No purge found with id " + purgeId);
+        }
+        return job.snapshot();
+    }
+
+    private void runPurge(PurgeJob job) {
+        job.status = "RUNNING";
+        job.startedAt = System.currentTimeMillis();
+        int workerCount = Math.max(1, workers);
+        // A full queue makes the reader run a batch itself, which keeps reads from racing ahead of deletes
+        ThreadPoolExecutor deleters = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(workerCount * 2), new ThreadPoolExecutor.CallerRunsPolicy());
+        Key partitionKey = Key.ofInt(NsMysqlSct.PK, job.pk);
+        int resolvedBatchSize = Math.max(1, batchSize);
+        try {
+            Key lastCk = null;
+            while (true) {
+                List<NsMysqlSct> page = readPage(partitionKey, lastCk);
+                if (page.isEmpty()) {
+                    break;
+                }
+                for (int from = 0; from < page.size(); from += resolvedBatchSize) {
+                    List<NsMysqlSct> batch = page.subList(from, Math.min(from + resolvedBatchSize, page.size()));
+                    deleters.execute(() -> deleteBatch(job, batch));
+                }
+                if (page.size() < pageSize) {
+                    break;
+                }
+                lastCk = Key.ofInt(NsMysqlSct.CK, page.get(page.size() - 1).getCk());
+            }
+            deleters.shutdown();
+            deleters.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            // Failed batches leave rows behind, so the purge must not look clean
+            job.status = job.rowsFailed.get() > 0 ? "COMPLETED_WITH_ERRORS" : "COMPLETED";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deleters.shutdownNow();
+            job.status = "FAILED";
+            job.error = "Purge interrupted";
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+            deleters.shutdownNow();
+            job.status = "FAILED";
+            job.error = e.getMessage();
+        } finally {
+            job.finishedAt = System.currentTimeMillis();
+        }
+        NsMysqlSctPurgeStatusDto result = job.snapshot();
+        log.info("Purge {} {} for PK {}: {} rows deleted, {} failed in {} ms ({} rows/s)", job.id, result.getStatus(), job.pk,
+            result.getRowsDeleted(), result.getRowsFailed(), result.getElapsedMs(), String.format("%.1f", result.getRowsPerSecond()));
+    }
+
+    // Keyset paging on ck, so each page starts after the last key read rather than at an offset
+    private List<NsMysqlSct> readPage(Key partitionKey, Key lastCk) throws TransactionException {
+        Scan scan = sctRepository.buildRangeScan(partitionKey, lastCk, false, null, true, false, Math.max(1, pageSize));
+        DistributedTransaction transaction = manager.beginReadOnly();
+        try {
+            List<NsMysqlSct> page = sctRepository.scanNsMysqlSct(transaction, scan);
+            transaction.commit();
+            return page;
+        } catch (TransactionException | RuntimeException e) {
+            rollback(transaction);
+            throw e;
+        }
+    }
+
+    private void deleteBatch(PurgeJob job, List<NsMysqlSct> batch) {
+        List<Mutation> deletes = new ArrayList<>(batch.size());
+        for (NsMysqlSct sct : batch) {
+            // Unconditional, so a row removed concurrently does not fail the whole batch
+            deletes.add(sctRepository.buildDelete(sct, false));
+        }
+        DistributedTransaction transaction = null;
+        try {
+            transaction = manager.start();
+            sctRepository.mutateNsMysqlSct(transaction, deletes);
+            transaction.commit();
+            job.rowsDeleted.addAndGet(batch.size());
+            job.batchesCommitted.incrementAndGet();
+        } catch (Exception e) {
+            log.error("Purge {} batch of {} rows failed: {}", job.id, batch.size(), e.getMessage());
+            rollback(transaction);
+            job.rowsFailed.addAndGet(batch.size());
+        } finally {
+            cacheInvalidator.onWrite(deletes);
+        }
+    }
+
+    private void rollback(DistributedTransaction transaction) {
+        if (transaction != null) {
+            try {
+                transaction.rollback();
+            } catch (RollbackException ex) {
+                log.error(ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private static class PurgeJob {
+        final String id;
+        final int pk;
+        final AtomicLong rowsDeleted = new AtomicLong();
+        final AtomicLong rowsFailed = new AtomicLong();
+        final AtomicLong batchesCommitted = new AtomicLong();
+        volatile String status = "QUEUED";
+        volatile String error;
+        volatile long startedAt;
+        volatile long finishedAt;
+
+        PurgeJob(String id, int pk) {
+            this.id = id;
+            this.pk = pk;
+        }
+
+        NsMysqlSctPurgeStatusDto snapshot() {
+            long elapsed = 0;
+            if (startedAt > 0) {
+                elapsed = (finishedAt > 0 ? finishedAt : System.currentTimeMillis()) - startedAt;
+            }
+            long deleted = rowsDeleted.get();
+            return NsMysqlSctPurgeStatusDto.builder()
+                .purgeId(id)
+                .pk(pk)
+                .status(status)
+                .rowsDeleted(deleted)
+                .rowsFailed(rowsFailed.get())
+                .batchesCommitted(batchesCommitted.get())
+                .elapsedMs(elapsed)
+                .rowsPerSecond(elapsed > 0 ? deleted * 1000.0 / elapsed : 0.0)
+                .error(error)
+                .build();
+        }
+    }
+}
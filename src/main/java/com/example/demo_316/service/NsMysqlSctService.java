@@ -1,42 +1,195 @@
 package com.example.demo_316.service;
 
 import com.example.demo_316.model.NsMysqlSct;
+import com.example.demo_316.dto.NsMysqlSctBatchDto;
+import com.example.demo_316.dto.NsMysqlSctBatchItemDto;
+import com.example.demo_316.dto.NsMysqlSctBatchResultDto;
+import com.example.demo_316.dto.NsMysqlSctCasDto;
 import com.example.demo_316.dto.NsMysqlSctDto;
+import com.example.demo_316.dto.NsMysqlSctIncrementDto;
+import com.example.demo_316.dto.NsMysqlSctMultiGetDto;
+import com.example.demo_316.dto.NsMysqlSctMultiGetResultDto;
+import com.example.demo_316.dto.NsMysqlSctScanDto;
+import com.example.demo_316.dto.PageDto;
 import com.example.demo_316.dto.ResponseStatusDto;
 import com.example.demo_316.dto.SqlCommandDto;
+import com.example.demo_316.cache.SctCacheInvalidator;
+import com.example.demo_316.cache.SctNegativeCache;
+import com.example.demo_316.cache.SctScanCache;
+import com.example.demo_316.cache.SctRecordCache;
 import com.example.demo_316.exception.CustomException;
 import com.example.demo_316.mapper.NsMysqlSctMapper;
 import com.example.demo_316.repository.NsMysqlSctRepository;
+import com.example.demo_316.util.ContinuationTokenUtil;
 import com.example.demo_316.util.ExecuteSqlUtil;
+import com.example.demo_316.util.GenericSqlUtil;
+import com.example.demo_316.util.NdjsonWriter;
+import com.example.demo_316.util.SingleFlight;
+import com.scalar.db.api.AndConditionSet;
+import com.scalar.db.api.ConditionBuilder;
+import com.scalar.db.api.ConditionSetBuilder;
+import com.scalar.db.api.ConditionalExpression;
 import com.scalar.db.api.DistributedTransaction;
 import com.scalar.db.api.DistributedTransactionManager;
+import com.scalar.db.api.Mutation;
+import com.scalar.db.api.Result;
+import com.scalar.db.api.Scan;
+import com.scalar.db.api.TransactionCrudOperable;
 import com.scalar.db.io.Key;
 import com.scalar.db.exception.transaction.*;
 import com.scalar.db.sql.SqlSession;
 import com.scalar.db.sql.SqlSessionFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
 public class NsMysqlSctService {
+    private static final int MULTI_GET_MIN_KEYS_PER_WORKER = 8;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     DistributedTransactionManager manager;
     SqlSessionFactory sqlSessionFactory;
+    ExecutorService multiGetExecutor;
+    int multiGetParallelism;
 
     @Autowired
     NsMysqlSctRepository sctRepository;
 
-    public NsMysqlSctService(DistributedTransactionManager manager, SqlSessionFactory sqlSessionFactory) throws InstantiationException, IllegalAccessException {
+    @Value("${sct.batch.chunk-size:100}")
+    int batchChunkSize;
+
+    @Value("${sct.batch.max-chunk-size:1000}")
+    int batchMaxChunkSize;
+
+    @Value("${sct.multi-get.max-keys:1000}")
+    int multiGetMaxKeys;
+
+    @Value("${sct.read-mode.get:TRANSACTION}")
+    ReadMode getReadMode;
+
+    @Value("${sct.read-mode.scan:READ_ONLY}")
+    ReadMode scanReadMode;
+
+    @Value("${sct.stream.flush-rows:500}")
+    int streamFlushRows;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    TransactionRetryHandler retryHandler;
+
+    @Autowired
+    SctGroupCommitter groupCommitter;
+
+    @Autowired
+    SctUpsertCoalescer upsertCoalescer;
+
+    @Autowired
+    SctRecordCache recordCache;
+
+    @Autowired
+    SctNegativeCache negativeCache;
+
+    @Autowired
+    SctScanCache scanCache;
+
+    @Autowired
+    SctCacheInvalidator cacheInvalidator;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Value("${sct.single-flight.enabled:true}")
+    boolean singleFlightEnabled;
+
+    @Value("${sct.buffered-write.await-timeout-ms:30000}")
+    long bufferedWriteTimeoutMs;
+
+    // Identical reads in flight at the same time share one transaction
+    private final SingleFlight<GetFlightKey, Optional<NsMysqlSctDto>> getFlight = new SingleFlight<>();
+    private final SingleFlight<NsMysqlSctScanDto, PageDto<NsMysqlSctDto>> scanFlight = new SingleFlight<>();
+    private final SingleFlight<String, List<NsMysqlSctDto>> sqlFlight = new SingleFlight<>();
+
+    public NsMysqlSctService(DistributedTransactionManager manager, SqlSessionFactory sqlSessionFactory,
+            @Value("${sct.multi-get.parallelism:4}") int multiGetParallelism,
+            @Value("${sct.multi-get.queue-capacity:100}") int multiGetQueueCapacity) throws InstantiationException, IllegalAccessException {
         this.manager = manager;
         this.sqlSessionFactory = sqlSessionFactory;
+        this.multiGetParallelism = Math.max(1, multiGetParallelism);
+        // Bounded queue: once it is full, new slices are rejected and the request fails fast with 9503
+        this.multiGetExecutor = new ThreadPoolExecutor(this.multiGetParallelism, this.multiGetParallelism, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, multiGetQueueCapacity)), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PostConstruct
+    public void registerSingleFlight() {
+        // A read already in flight may predate a local write; later callers must start their own
+        cacheInvalidator.addListener((pk, ck) -> {
+            getFlight.forgetIf(key -> pk.equals(key.pk()) && ck.equals(key.ck()));
+            scanFlight.forgetIf(key -> pk.equals(key.getPk()));
+        });
+        cacheInvalidator.addInvalidateAllListener(() -> {
+            getFlight.forgetIf(key -> true);
+            scanFlight.forgetIf(key -> true);
+            sqlFlight.forgetIf(key -> true);
+        });
+        registerCoalescedCounter("get", getFlight);
+        registerCoalescedCounter("scanByPk", scanFlight);
+        registerCoalescedCounter("executeSQL", sqlFlight);
+    }
+
+    private void registerCoalescedCounter(String operation, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("sct.single-flight.coalesced", flight, SingleFlight::getCoalescedCount)
+            .description("Requests that shared the result of an identical in-flight request")
+            .tag("operation", operation)
+            .register(meterRegistry);
     }
 
     // Execute SQL Command
     public List<NsMysqlSctDto> executeSQL(SqlCommandDto sqlCommandDto) throws CustomException {
+        if (singleFlightEnabled && GenericSqlUtil.isSelect(sqlCommandDto.getSqlCommand())) {
+            return sqlFlight.execute(sqlCommandDto.getSqlCommand(),
+                () -> retryHandler.execute("executeSQL", () -> doExecuteSQL(sqlCommandDto)));
+        }
+        try {
+            return retryHandler.execute("executeSQL", () -> doExecuteSQL(sqlCommandDto));
+        } finally {
+            // Free-form SQL may touch any key, so every cache layer is dropped
+            if (!GenericSqlUtil.isSelect(sqlCommandDto.getSqlCommand())) {
+                cacheInvalidator.onWriteAll();
+            }
+        }
+    }
+
+    private List<NsMysqlSctDto> doExecuteSQL(SqlCommandDto sqlCommandDto) throws CustomException {
         SqlSession sqlSession = null;
 
         try {
@@ -62,12 +215,23 @@ public class NsMysqlSctService {
     }
     
     public ResponseStatusDto postNsMysqlSct(NsMysqlSctDto sctDto, boolean isOO) throws CustomException {
+        try {
+            return retryHandler.execute("post", () -> doPostNsMysqlSct(sctDto, isOO));
+        } finally {
+            invalidateCached(sctDto);
+        }
+    }
+
+    private ResponseStatusDto doPostNsMysqlSct(NsMysqlSctDto sctDto, boolean isOO) throws CustomException {
         DistributedTransaction transaction = null;
         try {
             NsMysqlSct sct = NsMysqlSctMapper.mapToNsMysqlSct(sctDto);
             if(isOO) {
                 sct = sctRepository.postNsMysqlSctOO(manager, sct);
             }
+            else if (groupCommitter.isEnabled()) {
+                awaitGroupCommit(sctRepository.buildInsert(sct));
+            }
             else {
                 transaction = manager.start();
 //            transaction = manager.beginReadOnly();
@@ -89,12 +253,35 @@ public class NsMysqlSctService {
     }
     
     public ResponseStatusDto upsertNsMysqlSct(NsMysqlSctDto sctDto, boolean isOO) throws CustomException {
+        return upsertNsMysqlSct(sctDto, isOO, true);
+    }
+
+    // waitForDurability only matters when coalescing is on: false returns as soon as the value is buffered
+    public ResponseStatusDto upsertNsMysqlSct(NsMysqlSctDto sctDto, boolean isOO, boolean waitForDurability) throws CustomException {
+        try {
+            return retryHandler.execute("upsert", () -> doUpsertNsMysqlSct(sctDto, isOO, waitForDurability));
+        } finally {
+            invalidateCached(sctDto);
+        }
+    }
+
+    private ResponseStatusDto doUpsertNsMysqlSct(NsMysqlSctDto sctDto, boolean isOO, boolean waitForDurability) throws CustomException {
         DistributedTransaction transaction = null;
         try {
             NsMysqlSct sct = NsMysqlSctMapper.mapToNsMysqlSct(sctDto);
-            if(isOO) {
+            if (!isOO && upsertCoalescer.isEnabled()) {
+                CompletableFuture<Void> written = upsertCoalescer.submit(sct);
+                if (!waitForDurability) {
+                    return ResponseStatusDto.builder().code(0).message("queued").build();
+                }
+                awaitWrite(written);
+            }
+            else if(isOO) {
                 sct = sctRepository.upsertNsMysqlSctOO(manager, sct);
             }
+            else if (groupCommitter.isEnabled()) {
+                awaitGroupCommit(sctRepository.buildUpsert(sct));
+            }
             else {
                 transaction = manager.start();
                 sct = sctRepository.upsertNsMysqlSct(transaction, sct);
@@ -110,27 +297,55 @@ public class NsMysqlSctService {
 
     // Retrieve Record
     public NsMysqlSctDto getNsMysqlSct(NsMysqlSctDto sctDto) throws CustomException {
-        return getNsMysqlSct(sctDto, false);
+        return getNsMysqlSct(sctDto, getReadMode);
     }
     
     public NsMysqlSctDto getNsMysqlSct(NsMysqlSctDto sctDto, boolean isOO) throws CustomException {
-        DistributedTransaction transaction = null;
-        try {
-            NsMysqlSct sct = NsMysqlSctMapper.mapToNsMysqlSct(sctDto);
-            if(isOO) {
-                sct = sctRepository.getNsMysqlSctOO(manager, sct);
-            }
-            else {
-                transaction = manager.start();
-//            transaction = manager.beginReadOnly();
+        return getNsMysqlSct(sctDto, isOO ? ReadMode.ONE_OPERATION : getReadMode);
+    }
 
-                sct = sctRepository.getNsMysqlSct(transaction, sct);
-                transaction.commit();
+    public NsMysqlSctDto getNsMysqlSct(NsMysqlSctDto sctDto, ReadMode readMode) throws CustomException {
+        Optional<NsMysqlSctDto> result = findNsMysqlSct(sctDto, readMode);
+        if (result.isEmpty()) {
+            throw new CustomException(9400, "No record found in NsMysqlSct");
+        }
+        return result.get();
+    }
+
+    // Look Up Record; a miss is an empty result rather than an exception
+    public Optional<NsMysqlSctDto> findNsMysqlSct(NsMysqlSctDto sctDto, ReadMode readMode) throws CustomException {
+        if (sctDto != null && sctDto.getPk() != null && sctDto.getCk() != null) {
+            Optional<NsMysqlSct> cached = recordCache.get(sctDto.getPk(), sctDto.getCk());
+            if (cached.isPresent()) {
+                return Optional.of(NsMysqlSctMapper.mapToNsMysqlSctDto(cached.get()));
+            }
+            if (negativeCache.isKnownMissing(sctDto.getPk(), sctDto.getCk())) {
+                return Optional.empty();
             }
+            if (singleFlightEnabled) {
+                return getFlight.execute(new GetFlightKey(sctDto.getPk(), sctDto.getCk(), readMode),
+                    () -> retryHandler.execute("get", () -> doFindNsMysqlSct(sctDto, readMode)));
+            }
+        }
+        return retryHandler.execute("get", () -> doFindNsMysqlSct(sctDto, readMode));
+    }
 
-            return NsMysqlSctMapper.mapToNsMysqlSctDto(sct);
+    private Optional<NsMysqlSctDto> doFindNsMysqlSct(NsMysqlSctDto sctDto, ReadMode readMode) throws CustomException {
+        try {
+            NsMysqlSct sct = NsMysqlSctMapper.mapToNsMysqlSct(sctDto);
+            long missStamp = negativeCache.stamp(sct.getPk(), sct.getCk());
+            long hitStamp = recordCache.stamp(sct.getPk(), sct.getCk());
+            Optional<NsMysqlSct> result = executeRead(readMode,
+                transaction -> sctRepository.findNsMysqlSct(transaction, sct),
+                oneOperation -> sctRepository.findNsMysqlSctOO(oneOperation, sct));
+            if (result.isEmpty()) {
+                negativeCache.markMissing(sct.getPk(), sct.getCk(), missStamp);
+                return Optional.empty();
+            }
+            recordCache.put(result.get(), hitStamp);
+            return Optional.of(NsMysqlSctMapper.mapToNsMysqlSctDto(result.get()));
         } catch (Exception e) {
-            handleTransactionException(e, transaction);
+            handleTransactionException(e, null);
             throw new CustomException(e, determineErrorCode(e));
         }
     }
@@ -141,6 +356,14 @@ public class NsMysqlSctService {
     }
     
     public ResponseStatusDto putNsMysqlSct(NsMysqlSctDto sctDto, boolean isOO) throws CustomException {
+        try {
+            return retryHandler.execute("put", () -> doPutNsMysqlSct(sctDto, isOO));
+        } finally {
+            invalidateCached(sctDto);
+        }
+    }
+
+    private ResponseStatusDto doPutNsMysqlSct(NsMysqlSctDto sctDto, boolean isOO) throws CustomException {
         DistributedTransaction transaction = null;
         try {
             NsMysqlSct sct = NsMysqlSctMapper.mapToNsMysqlSct(sctDto);
@@ -148,6 +371,9 @@ public class NsMysqlSctService {
             if(isOO) {
                 sct = sctRepository.putNsMysqlSctOO(manager, sct);
             }
+            else if (groupCommitter.isEnabled()) {
+                awaitGroupCommit(sctRepository.buildUpdate(sct));
+            }
             else {
                 transaction = manager.start();
 
@@ -161,12 +387,79 @@ public class NsMysqlSctService {
         }
     }
 
+    // Compare-and-Set bint_value
+    public NsMysqlSctDto compareAndSetNsMysqlSct(NsMysqlSctCasDto casDto) throws CustomException {
+        try {
+            return retryHandler.execute("compareAndSet", () -> doCompareAndSetNsMysqlSct(casDto));
+        } finally {
+            cacheInvalidator.onWrite(casDto.getPk(), casDto.getCk());
+        }
+    }
+
+    private NsMysqlSctDto doCompareAndSetNsMysqlSct(NsMysqlSctCasDto casDto) throws CustomException {
+        DistributedTransaction transaction = null;
+        try {
+            NsMysqlSct key = NsMysqlSct.builder().pk(casDto.getPk()).ck(casDto.getCk()).build();
+            transaction = manager.start();
+            // Read in the same transaction so the response carries the row's other columns;
+            // a missing row or an unequal current value fails the condition and surfaces as 9100
+            NsMysqlSct current = sctRepository.findNsMysqlSct(transaction, key).orElse(key);
+            current.setBintValue(casDto.getNewBintValue());
+            sctRepository.mutateNsMysqlSct(transaction, List.of(sctRepository.buildCompareAndSet(current, casDto.getExpectedBintValue())));
+            transaction.commit();
+            return NsMysqlSctMapper.mapToNsMysqlSctDto(current);
+        } catch (Exception e) {
+            handleTransactionException(e, transaction);
+            throw new CustomException(e, determineErrorCode(e));
+        }
+    }
+
+    // Increment bint_value
+    public NsMysqlSctDto incrementNsMysqlSct(NsMysqlSctIncrementDto incrementDto) throws CustomException {
+        try {
+            return retryHandler.execute("increment", () -> doIncrementNsMysqlSct(incrementDto));
+        } finally {
+            cacheInvalidator.onWrite(incrementDto.getPk(), incrementDto.getCk());
+        }
+    }
+
+    private NsMysqlSctDto doIncrementNsMysqlSct(NsMysqlSctIncrementDto incrementDto) throws CustomException {
+        DistributedTransaction transaction = null;
+        try {
+            if (incrementDto.getDelta() == null) {
+                throw new IllegalArgumentException("delta is required");
+            }
+            NsMysqlSct key = NsMysqlSct.builder().pk(incrementDto.getPk()).ck(incrementDto.getCk()).build();
+            transaction = manager.start();
+            // Read and conditional write share one transaction, so a concurrent increment
+            // shows up as a conflict (retried) rather than a lost update
+            NsMysqlSct current = sctRepository.getNsMysqlSct(transaction, key);
+            Long expected = current.getBintValue();
+            long updated = Math.addExact(expected != null ? expected : 0L, incrementDto.getDelta());
+            current.setBintValue(updated);
+            sctRepository.mutateNsMysqlSct(transaction, List.of(sctRepository.buildCompareAndSet(current, expected)));
+            transaction.commit();
+            return NsMysqlSctMapper.mapToNsMysqlSctDto(current);
+        } catch (Exception e) {
+            handleTransactionException(e, transaction);
+            throw new CustomException(e, determineErrorCode(e));
+        }
+    }
+
     // Delete Record
     public ResponseStatusDto deleteNsMysqlSct(NsMysqlSctDto sctDto) throws CustomException {
         return deleteNsMysqlSct(sctDto, false);
     }
     
     public ResponseStatusDto deleteNsMysqlSct(NsMysqlSctDto sctDto, boolean isOO) throws CustomException {
+        try {
+            return retryHandler.execute("delete", () -> doDeleteNsMysqlSct(sctDto, isOO));
+        } finally {
+            invalidateCached(sctDto);
+        }
+    }
+
+    private ResponseStatusDto doDeleteNsMysqlSct(NsMysqlSctDto sctDto, boolean isOO) throws CustomException {
         DistributedTransaction transaction = null;
         try {
             NsMysqlSct sct = NsMysqlSctMapper.mapToNsMysqlSct(sctDto);
@@ -189,14 +482,13 @@ public class NsMysqlSctService {
 
     // Retrieve All Records
     public List<NsMysqlSctDto> getNsMysqlSctListAll() throws CustomException {
-        DistributedTransaction transaction = null;
-        List<NsMysqlSct> sctList = new ArrayList<>();
         try {
-            transaction = manager.start();
-            sctList = sctRepository.getNsMysqlSctListAll(transaction);
+            List<NsMysqlSct> sctList = executeRead(scanReadMode,
+                sctRepository::getNsMysqlSctListAll,
+                oneOperation -> sctRepository.scanNsMysqlSctOO(oneOperation, sctRepository.buildScanAll(100)));
             return NsMysqlSctMapper.mapToNsMysqlSctDtoList(sctList);
         } catch (Exception e) {
-            handleTransactionException(e, transaction);
+            handleTransactionException(e, null);
             throw new CustomException(e, determineErrorCode(e));
         }
     }
@@ -232,6 +524,415 @@ public class NsMysqlSctService {
         }
     }
 
+    // Retrieve Multiple Records by Key
+    public NsMysqlSctMultiGetResultDto multiGetNsMysqlSct(NsMysqlSctMultiGetDto multiGetDto) throws CustomException {
+        List<NsMysqlSctDto> keys = multiGetDto.getKeys() != null ? multiGetDto.getKeys() : List.of();
+        if (keys.size() > multiGetMaxKeys) {
+            throw new CustomException(9400, "At most " + multiGetMaxKeys + " keys are allowed");
+        }
+
+        // A transaction handle is not shared between threads, so each worker reads its slice of
+        // the keys in its own read-only transaction
+        int workers = Math.max(1, Math.min(multiGetParallelism, (keys.size() + MULTI_GET_MIN_KEYS_PER_WORKER - 1) / MULTI_GET_MIN_KEYS_PER_WORKER));
+        int sliceSize = Math.max(1, (keys.size() + workers - 1) / workers);
+        List<Future<List<Optional<NsMysqlSct>>>> slices = new ArrayList<>(workers);
+        try {
+            for (int from = 0; from < keys.size(); from += sliceSize) {
+                List<NsMysqlSctDto> slice = keys.subList(from, Math.min(from + sliceSize, keys.size()));
+                if (workers == 1) {
+                    slices.add(CompletableFuture.completedFuture(readSlice(slice)));
+                } else {
+                    slices.add(multiGetExecutor.submit(() -> readSlice(slice)));
+                }
+            }
+
+            List<NsMysqlSctDto> found = new ArrayList<>();
+            List<NsMysqlSctDto> missing = new ArrayList<>();
+            int index = 0;
+            for (Future<List<Optional<NsMysqlSct>>> slice : slices) {
+                for (Optional<NsMysqlSct> result : slice.get()) {
+                    NsMysqlSctDto key = keys.get(index++);
+                    if (result.isPresent()) {
+                        found.add(NsMysqlSctMapper.mapToNsMysqlSctDto(result.get()));
+                    } else {
+                        missing.add(NsMysqlSctDto.builder().pk(key.getPk()).ck(key.getCk()).build());
+                    }
+                }
+            }
+            return NsMysqlSctMultiGetResultDto.builder().found(found).missing(missing).build();
+        } catch (CustomException e) {
+            throw e;
+        } catch (RejectedExecutionException e) {
+            log.warn("Multi-get executor saturated: {}", e.getMessage());
+            throw new CustomException(9503, "Server is busy, retry later");
+        } catch (ExecutionException e) {
+            Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            if (cause instanceof CustomException) throw (CustomException) cause;
+            throw new CustomException(cause, determineErrorCode(cause));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException(e, determineErrorCode(e));
+        } finally {
+            for (Future<List<Optional<NsMysqlSct>>> slice : slices) {
+                slice.cancel(true);
+            }
+        }
+    }
+
+    private List<Optional<NsMysqlSct>> readSlice(List<NsMysqlSctDto> slice) throws CustomException {
+        DistributedTransaction transaction = null;
+        try {
+            transaction = manager.beginReadOnly();
+            List<Optional<NsMysqlSct>> results = new ArrayList<>(slice.size());
+            for (NsMysqlSctDto key : slice) {
+                results.add(sctRepository.findNsMysqlSct(transaction, NsMysqlSctMapper.mapToNsMysqlSct(key)));
+            }
+            transaction.commit();
+            return results;
+        } catch (Exception e) {
+            handleTransactionException(e, transaction);
+            throw new CustomException(e, determineErrorCode(e));
+        }
+    }
+
+    @PreDestroy
+    void shutdownMultiGetExecutor() {
+        multiGetExecutor.shutdownNow();
+    }
+
+    // Apply a Batch of Mutations in Chunked Multi-Mutation Transactions
+    public NsMysqlSctBatchResultDto batchNsMysqlSct(NsMysqlSctBatchDto batchDto) throws CustomException {
+        List<NsMysqlSctBatchItemDto> items = batchDto.getItems() != null ? batchDto.getItems() : List.of();
+        int chunkSize = batchDto.getChunkSize() != null ? batchDto.getChunkSize() : batchChunkSize;
+        if (chunkSize < 1 || chunkSize > batchMaxChunkSize) {
+            throw new CustomException(9400, "chunkSize must be between 1 and " + batchMaxChunkSize);
+        }
+
+        ResponseStatusDto[] statuses = new ResponseStatusDto[items.size()];
+        List<Mutation> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        int transactionsCommitted = 0;
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                chunk.add(buildBatchMutation(items.get(i)));
+                chunkIndexes.add(i);
+            } catch (RuntimeException e) {
+                statuses[i] = ResponseStatusDto.builder().code(9400).message(e.getMessage()).build();
+            }
+            if (chunk.size() == chunkSize) {
+                transactionsCommitted += commitBatchChunk(chunk, chunkIndexes, statuses);
+                chunk.clear();
+                chunkIndexes.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            transactionsCommitted += commitBatchChunk(chunk, chunkIndexes, statuses);
+        }
+
+        int succeeded = 0;
+        for (ResponseStatusDto status : statuses) {
+            if (status.getCode() == 0) succeeded++;
+        }
+        return NsMysqlSctBatchResultDto.builder()
+            .transactionsCommitted(transactionsCommitted)
+            .succeeded(succeeded)
+            .failed(statuses.length - succeeded)
+            .itemStatuses(Arrays.asList(statuses))
+            .build();
+    }
+
+    private Mutation buildBatchMutation(NsMysqlSctBatchItemDto item) {
+        if (item.getOperation() == null) {
+            throw new IllegalArgumentException("operation is required");
+        }
+        NsMysqlSct sct = NsMysqlSct.builder()
+            .pk(item.getPk())
+            .ck(item.getCk())
+            .stringValue(item.getStringValue())
+            .bintValue(item.getBintValue())
+            .build();
+        return switch (item.getOperation().toUpperCase()) {
+            case "INSERT" -> sctRepository.buildInsert(sct);
+            case "UPSERT" -> sctRepository.buildUpsert(sct);
+            case "UPDATE" -> sctRepository.buildUpdate(sct);
+            case "DELETE" -> sctRepository.buildDelete(sct);
+            default -> throw new IllegalArgumentException("Unsupported operation: " + item.getOperation());
+        };
+    }
+
+    // Commit one chunk atomically; every item in the chunk shares its outcome
+    private int commitBatchChunk(List<Mutation> chunk, List<Integer> chunkIndexes, ResponseStatusDto[] statuses) {
+        DistributedTransaction transaction = null;
+        ResponseStatusDto status;
+        int committed = 0;
+        try {
+            transaction = manager.start();
+            sctRepository.mutateNsMysqlSct(transaction, chunk);
+            transaction.commit();
+            status = ResponseStatusDto.builder().code(0).message("").build();
+            committed = 1;
+        } catch (Exception e) {
+            handleTransactionException(e, transaction);
+            status = ResponseStatusDto.builder().code(determineErrorCode(e)).message(e.getMessage()).build();
+        } finally {
+            cacheInvalidator.onWrite(chunk);
+        }
+        for (Integer index : chunkIndexes) {
+            statuses[index] = status;
+        }
+        return committed;
+    }
+
+    // Retrieve a Page of Records by Partition Key within a Clustering Key Range
+    public PageDto<NsMysqlSctDto> getNsMysqlSctPageByPk(NsMysqlSctScanDto scanDto) throws CustomException {
+        Optional<PageDto<NsMysqlSctDto>> cached = scanCache.get(scanDto);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        if (singleFlightEnabled && scanDto.getPk() != null) {
+            return scanFlight.execute(scanDto, () -> loadNsMysqlSctPageByPk(scanDto));
+        }
+        return loadNsMysqlSctPageByPk(scanDto);
+    }
+
+    private PageDto<NsMysqlSctDto> loadNsMysqlSctPageByPk(NsMysqlSctScanDto scanDto) throws CustomException {
+        long version = scanCache.version(scanDto.getPk());
+        PageDto<NsMysqlSctDto> page = doGetNsMysqlSctPageByPk(scanDto);
+        scanCache.put(scanDto, version, page);
+        return page;
+    }
+
+    private PageDto<NsMysqlSctDto> doGetNsMysqlSctPageByPk(NsMysqlSctScanDto scanDto) throws CustomException {
+        try {
+            int pageSize = resolvePageSize(scanDto.getPageSize());
+            boolean descending = Boolean.TRUE.equals(scanDto.getDescending());
+            Key partitionKey = NsMysqlSct.builder().pk(scanDto.getPk()).build().getPartitionKey();
+
+            Key startKey = scanDto.getStartCk() != null ? Key.ofInt(NsMysqlSct.CK, scanDto.getStartCk()) : null;
+            boolean startInclusive = !Boolean.FALSE.equals(scanDto.getStartInclusive());
+            Key endKey = scanDto.getEndCk() != null ? Key.ofInt(NsMysqlSct.CK, scanDto.getEndCk()) : null;
+            boolean endInclusive = !Boolean.FALSE.equals(scanDto.getEndInclusive());
+
+            // Resume right after the last row of the previous page
+            if (scanDto.getContinuationToken() != null) {
+                String[] parts = ContinuationTokenUtil.decode(scanDto.getContinuationToken(), 1);
+                Key lastKey = Key.ofInt(NsMysqlSct.CK, Integer.parseInt(parts[0]));
+                if (descending) {
+                    endKey = lastKey;
+                    endInclusive = false;
+                } else {
+                    startKey = lastKey;
+                    startInclusive = false;
+                }
+            }
+
+            Scan scan = sctRepository.buildRangeScan(partitionKey, startKey, startInclusive, endKey, endInclusive, descending, pageSize);
+            List<NsMysqlSct> sctList = executeRead(scanReadMode,
+                transaction -> sctRepository.scanNsMysqlSct(transaction, scan),
+                oneOperation -> sctRepository.scanNsMysqlSctOO(oneOperation, scan));
+
+            String nextToken = null;
+            if (sctList.size() == pageSize) {
+                nextToken = ContinuationTokenUtil.encode(sctList.get(sctList.size() - 1).getCk());
+            }
+            return PageDto.<NsMysqlSctDto>builder()
+                .items(NsMysqlSctMapper.mapToNsMysqlSctDtoList(sctList))
+                .continuationToken(nextToken)
+                .build();
+        } catch (Exception e) {
+            handleTransactionException(e, null);
+            throw new CustomException(e, determineErrorCode(e));
+        }
+    }
+
+    // Retrieve a Page of All Records, ordered by pk and ck
+    public PageDto<NsMysqlSctDto> getNsMysqlSctPageAll(NsMysqlSctScanDto scanDto) throws CustomException {
+        try {
+            int pageSize = resolvePageSize(scanDto.getPageSize());
+            boolean descending = Boolean.TRUE.equals(scanDto.getDescending());
+
+            // ck bounds apply within every partition
+            Set<ConditionalExpression> ckBounds = new HashSet<>();
+            if (scanDto.getStartCk() != null) {
+                ckBounds.add(Boolean.FALSE.equals(scanDto.getStartInclusive())
+                    ? ConditionBuilder.column(NsMysqlSct.CK).isGreaterThanInt(scanDto.getStartCk())
+                    : ConditionBuilder.column(NsMysqlSct.CK).isGreaterThanOrEqualToInt(scanDto.getStartCk()));
+            }
+            if (scanDto.getEndCk() != null) {
+                ckBounds.add(Boolean.FALSE.equals(scanDto.getEndInclusive())
+                    ? ConditionBuilder.column(NsMysqlSct.CK).isLessThanInt(scanDto.getEndCk())
+                    : ConditionBuilder.column(NsMysqlSct.CK).isLessThanOrEqualToInt(scanDto.getEndCk()));
+            }
+
+            // Resume right after the last (pk, ck) of the previous page:
+            // (pk beyond lastPk) OR (pk = lastPk AND ck beyond lastCk)
+            Set<AndConditionSet> conditions = new HashSet<>();
+            if (scanDto.getContinuationToken() != null) {
+                String[] parts = ContinuationTokenUtil.decode(scanDto.getContinuationToken(), 2);
+                int lastPk = Integer.parseInt(parts[0]);
+                int lastCk = Integer.parseInt(parts[1]);
+
+                Set<ConditionalExpression> nextPartitions = new HashSet<>(ckBounds);
+                nextPartitions.add(descending
+                    ? ConditionBuilder.column(NsMysqlSct.PK).isLessThanInt(lastPk)
+                    : ConditionBuilder.column(NsMysqlSct.PK).isGreaterThanInt(lastPk));
+                conditions.add(ConditionSetBuilder.andConditionSet(nextPartitions).build());
+
+                Set<ConditionalExpression> samePartition = new HashSet<>(ckBounds);
+                samePartition.add(ConditionBuilder.column(NsMysqlSct.PK).isEqualToInt(lastPk));
+                samePartition.add(descending
+                    ? ConditionBuilder.column(NsMysqlSct.CK).isLessThanInt(lastCk)
+                    : ConditionBuilder.column(NsMysqlSct.CK).isGreaterThanInt(lastCk));
+                conditions.add(ConditionSetBuilder.andConditionSet(samePartition).build());
+            } else if (!ckBounds.isEmpty()) {
+                conditions.add(ConditionSetBuilder.andConditionSet(ckBounds).build());
+            }
+
+            Scan scan = sctRepository.buildScanAllByConditions(conditions, descending, pageSize);
+            List<NsMysqlSct> sctList = executeRead(scanReadMode,
+                transaction -> sctRepository.scanNsMysqlSct(transaction, scan),
+                oneOperation -> sctRepository.scanNsMysqlSctOO(oneOperation, scan));
+
+            String nextToken = null;
+            if (sctList.size() == pageSize) {
+                NsMysqlSct last = sctList.get(sctList.size() - 1);
+                nextToken = ContinuationTokenUtil.encode(last.getPk(), last.getCk());
+            }
+            return PageDto.<NsMysqlSctDto>builder()
+                .items(NsMysqlSctMapper.mapToNsMysqlSctDtoList(sctList))
+                .continuationToken(nextToken)
+                .build();
+        } catch (Exception e) {
+            handleTransactionException(e, null);
+            throw new CustomException(e, determineErrorCode(e));
+        }
+    }
+
+    // Stream Records by Partition Key as NDJSON
+    public long streamNsMysqlSctByPk(NsMysqlSctDto sctDto, OutputStream outputStream) throws CustomException {
+        NsMysqlSct sct = NsMysqlSctMapper.mapToNsMysqlSct(sctDto);
+        return streamNsMysqlSct(outputStream, transaction -> sctRepository.getNsMysqlSctScannerByPk(transaction, sct.getPartitionKey()));
+    }
+
+    // Stream All Records as NDJSON
+    public long streamNsMysqlSctAll(OutputStream outputStream) throws CustomException {
+        return streamNsMysqlSct(outputStream, sctRepository::getNsMysqlSctScannerAll);
+    }
+
+    // Write each row straight from the scanner to the response, one JSON object per line,
+    // so memory stays bounded by the scanner fetch size whatever the partition size
+    private long streamNsMysqlSct(OutputStream outputStream, TransactionRead<TransactionCrudOperable.Scanner> opener) throws CustomException {
+        DistributedTransaction transaction = null;
+        TransactionCrudOperable.Scanner scanner = null;
+        long rows = 0;
+        try {
+            // A scanner needs a transaction, so one-operation mode streams in a read-only one
+            transaction = scanReadMode == ReadMode.TRANSACTION ? manager.start() : manager.beginReadOnly();
+            scanner = opener.read(transaction);
+            // Flushing is left to the flush-rows chunking below instead of happening after every value
+            int flushRows = Math.max(1, streamFlushRows);
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, NsMysqlSctDto.class, outputStream);
+            for (Result result : scanner) {
+                writer.write(NsMysqlSctMapper.mapToNsMysqlSctDto(sctRepository.buildNsMysqlSct(result)));
+                if (++rows % flushRows == 0) {
+                    writer.flush();
+                }
+            }
+            writer.close();
+            scanner.close();
+            scanner = null;
+            transaction.commit();
+            return rows;
+        } catch (IOException e) {
+            // The client went away: stop scanning and release the transaction
+            log.info("NDJSON stream aborted after {} rows: {}", rows, e.getMessage());
+            closeScanner(scanner);
+            handleTransactionException(e, transaction);
+            throw new CustomException(e, determineErrorCode(e));
+        } catch (Exception e) {
+            closeScanner(scanner);
+            handleTransactionException(e, transaction);
+            throw new CustomException(e, determineErrorCode(e));
+        }
+    }
+
+    private void closeScanner(TransactionCrudOperable.Scanner scanner) {
+        if (scanner != null) {
+            try {
+                scanner.close();
+            } catch (Exception ex) {
+                log.error(ex.getMessage(), ex);
+            }
+        }
+    }
+
+    // Drop the cached copy of a record this instance has just written (or tried to)
+    private void invalidateCached(NsMysqlSctDto sctDto) {
+        if (sctDto != null) {
+            cacheInvalidator.onWrite(sctDto.getPk(), sctDto.getCk());
+        }
+    }
+
+    // Queue a write on the group committer and wait for its own result
+    private void awaitGroupCommit(Mutation mutation) throws Exception {
+        awaitWrite(groupCommitter.submit(mutation));
+    }
+
+    // Wait for a buffered write and surface its own failure
+    private void awaitWrite(CompletableFuture<Void> written) throws Exception {
+        try {
+            written.get(Math.max(1, bufferedWriteTimeoutMs), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } catch (TimeoutException e) {
+            // The write may still commit later, so its outcome is unknown to the caller
+            throw new CustomException(9300, "Timed out after " + bufferedWriteTimeoutMs + " ms waiting for a buffered write");
+        }
+    }
+
+    // Run a read in a read-write, read-only or one-operation transaction
+    private <T> T executeRead(ReadMode readMode, TransactionRead<T> inTransaction, OneOperationRead<T> oneOperation) throws TransactionException {
+        if (readMode == ReadMode.ONE_OPERATION) {
+            return oneOperation.read(manager);
+        }
+        DistributedTransaction transaction = readMode == ReadMode.READ_ONLY ? manager.beginReadOnly() : manager.start();
+        try {
+            T result = inTransaction.read(transaction);
+            transaction.commit();
+            return result;
+        } catch (TransactionException | RuntimeException e) {
+            try {
+                transaction.rollback();
+            } catch (RollbackException ex) {
+                log.error(ex.getMessage(), ex);
+            }
+            throw e;
+        }
+    }
+
+    private record GetFlightKey(Integer pk, Integer ck, ReadMode readMode) {
+    }
+
+    @FunctionalInterface
+    private interface TransactionRead<T> {
+        T read(DistributedTransaction transaction) throws TransactionException;
+    }
+
+    @FunctionalInterface
+    private interface OneOperationRead<T> {
+        T read(DistributedTransactionManager manager) throws TransactionException;
+    }
+
+    private int resolvePageSize(Integer pageSize) {
+        if (pageSize == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("pageSize must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return pageSize;
+    }
+
     private void handleTransactionException(Exception e, DistributedTransaction transaction) {
         log.error(e.getMessage(), e);
         if (transaction != null) {
@@ -254,10 +955,18 @@ public class NsMysqlSctService {
         }
     }
 
+    // Commit/CRUD conflicts from the core API and retryable errors from ScalarDB SQL
+    private boolean isConflict(Exception e) {
+        String name = e.getClass().getSimpleName();
+        return name.equals("CommitConflictException")
+            || name.equals("CrudConflictException")
+            || name.equals("TransactionRetryableException");
+    }
+
     private int determineErrorCode(Exception e) {
         if (e instanceof UnsatisfiedConditionException) return 9100;
         if (e instanceof UnknownTransactionStatusException) return 9200;
-        if (e.getClass().getSimpleName().equals("CommitConflictException")) return 9150;
+        if (isConflict(e)) return 9150;
         if (e instanceof TransactionException) return 9300;
         if (e instanceof RuntimeException) return 9400;
         return 9500;
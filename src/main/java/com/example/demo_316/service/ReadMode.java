@@ -0,0 +1,11 @@
+package com.example.demo_316.service;
+
+// How a read is executed against ScalarDB
+public enum ReadMode {
+    // manager.start() ... commit(): a full read-write transaction
+    TRANSACTION,
+    // manager.beginReadOnly() ... commit(): no write set and no commit-time validation of writes
+    READ_ONLY,
+    // manager.get()/scan(): a one-operation transaction without begin/commit round-trips
+    ONE_OPERATION
+}
@@ -0,0 +1,264 @@
+package com.example.demo_316.service;
+
+import com.example.demo_316.repository.NsMysqlSctRepository;
+import com.scalar.db.api.DistributedTransaction;
+import com.scalar.db.api.DistributedTransactionManager;
+import com.scalar.db.api.Mutation;
+import com.scalar.db.exception.transaction.RollbackException;
+import com.scalar.db.io.Key;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// Collects single-record writes for a short window and commits those on disjoint keys in one transaction
+@Slf4j
+@Component
+public class SctGroupCommitter {
+    private final DistributedTransactionManager manager;
+    private final NsMysqlSctRepository sctRepository;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService committers;
+    private final Thread collector;
+    // Keys of batches handed to a committer and not yet finished; a later write to one of them waits
+    private final Set<MutationKey> inFlightKeys = ConcurrentHashMap.newKeySet();
+    private final Object batchFinished = new Object();
+    private volatile boolean running = true;
+
+    public SctGroupCommitter(DistributedTransactionManager manager, NsMysqlSctRepository sctRepository,
+            @Value("${sct.group-commit.enabled:false}") boolean enabled,
+            @Value("${sct.group-commit.window-ms:2}") long windowMs,
+            @Value("${sct.group-commit.max-batch-size:50}") int maxBatchSize,
+            @Value("${sct.group-commit.committers:4}") int committers) {
+        this.manager = manager;
+        this.sctRepository = sctRepository;
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowMs));
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        if (enabled) {
+            this.committers = Executors.newFixedThreadPool(Math.max(1, committers));
+            this.collector = new Thread(this::collect, "sct-group-commit");
+            this.collector.setDaemon(true);
+            this.collector.start();
+        } else {
+            this.committers = null;
+            this.collector = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Queue a Mutation; the future completes once its transaction has committed
+    public CompletableFuture<Void> submit(Mutation mutation) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(new IllegalStateException("Group commit is shut down"));
+            return future;
+        }
+        queue.add(new PendingWrite(mutation, MutationKey.of(mutation), future));
+        return future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (collector == null) {
+            return;
+        }
+        collector.interrupt();
+        try {
+            collector.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything still queued is committed one by one before the pool drains
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (PendingWrite write : remaining) {
+            commitIndividually(write);
+        }
+        committers.shutdown();
+    }
+
+    private void collect() {
+        Deque<PendingWrite> deferred = new ArrayDeque<>();
+        while (running) {
+            List<PendingWrite> window = new ArrayList<>(maxBatchSize);
+            List<PendingWrite> batch = List.of();
+            try {
+                if (deferred.isEmpty()) {
+                    window.add(queue.take());
+                }
+                long deadline = System.nanoTime() + windowNanos;
+                while (window.size() + deferred.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    window.add(next);
+                }
+                batch = nextBatch(deferred, window);
+                window.clear();
+                if (batch.isEmpty()) {
+                    // Every waiting write is on a key still being committed
+                    awaitBatchFinished();
+                    continue;
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                queue.addAll(window);
+                break;
+            } catch (RuntimeException e) {
+                // Fail what this thread holds rather than let it die and leave callers waiting forever
+                log.error("Group commit collector failed: {}", e.getMessage(), e);
+                releaseKeys(batch);
+                failAll(batch, e);
+                failAll(window, e);
+                failAll(deferred, e);
+                deferred.clear();
+            }
+        }
+        queue.addAll(deferred);
+    }
+
+    // Take writes on distinct keys that no running batch holds; the rest wait, in arrival order, so per-key order is kept
+    private List<PendingWrite> nextBatch(Deque<PendingWrite> deferred, List<PendingWrite> window) {
+        List<PendingWrite> candidates = new ArrayList<>(deferred);
+        candidates.addAll(window);
+        deferred.clear();
+
+        List<PendingWrite> batch = new ArrayList<>(candidates.size());
+        Set<MutationKey> keys = new HashSet<>();
+        for (PendingWrite write : candidates) {
+            // Record every key seen, so a later write to a key left waiting cannot overtake it
+            boolean firstForKey = keys.add(write.key());
+            if (firstForKey && batch.size() < maxBatchSize && !inFlightKeys.contains(write.key())) {
+                batch.add(write);
+            } else {
+                deferred.add(write);
+            }
+        }
+        for (PendingWrite write : batch) {
+            inFlightKeys.add(write.key());
+        }
+        return batch;
+    }
+
+    private void dispatch(List<PendingWrite> batch) {
+        try {
+            committers.execute(() -> commitBatch(batch));
+        } catch (RejectedExecutionException e) {
+            commitBatch(batch);
+        }
+    }
+
+    private void awaitBatchFinished() throws InterruptedException {
+        synchronized (batchFinished) {
+            // Bounded, so a completion signalled just before we got here costs at most one window
+            batchFinished.wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(windowNanos)));
+        }
+    }
+
+    private void releaseKeys(List<PendingWrite> batch) {
+        for (PendingWrite write : batch) {
+            inFlightKeys.remove(write.key());
+        }
+        synchronized (batchFinished) {
+            batchFinished.notifyAll();
+        }
+    }
+
+    private void failAll(Iterable<PendingWrite> writes, Exception cause) {
+        for (PendingWrite write : writes) {
+            write.future().completeExceptionally(cause);
+        }
+    }
+
+    private void commitBatch(List<PendingWrite> batch) {
+        try {
+            doCommitBatch(batch);
+        } finally {
+            releaseKeys(batch);
+        }
+    }
+
+    private void doCommitBatch(List<PendingWrite> batch) {
+        if (batch.size() == 1) {
+            commitIndividually(batch.get(0));
+            return;
+        }
+        DistributedTransaction transaction = null;
+        try {
+            List<Mutation> mutations = new ArrayList<>(batch.size());
+            for (PendingWrite write : batch) {
+                mutations.add(write.mutation());
+            }
+            transaction = manager.start();
+            sctRepository.mutateNsMysqlSct(transaction, mutations);
+            transaction.commit();
+            for (PendingWrite write : batch) {
+                write.future().complete(null);
+            }
+        } catch (Exception e) {
+            log.warn("Group commit of {} writes failed, falling back to individual transactions: {}", batch.size(), e.getMessage());
+            rollback(transaction);
+            for (PendingWrite write : batch) {
+                commitIndividually(write);
+            }
+        }
+    }
+
+    private void commitIndividually(PendingWrite write) {
+        DistributedTransaction transaction = null;
+        try {
+            transaction = manager.start();
+            sctRepository.mutateNsMysqlSct(transaction, List.of(write.mutation()));
+            transaction.commit();
+            write.future().complete(null);
+        } catch (Exception e) {
+            rollback(transaction);
+            write.future().completeExceptionally(e);
+        }
+    }
+
+    private void rollback(DistributedTransaction transaction) {
+        if (transaction == null) {
+            return;
+        }
+        try {
+            transaction.rollback();
+        } catch (RollbackException ex) {
+            log.error(ex.getMessage(), ex);
+        }
+    }
+
+    private record PendingWrite(Mutation mutation, MutationKey key, CompletableFuture<Void> future) {
+    }
+
+    private record MutationKey(Key partitionKey, Optional<Key> clusteringKey) {
+        static MutationKey of(Mutation mutation) {
+            return new MutationKey(mutation.getPartitionKey(), mutation.getClusteringKey());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.demo_316.service;
+
+import com.example.demo_316.cache.SctCacheInvalidator;
+import com.example.demo_316.model.NsMysqlSct;
+import com.example.demo_316.repository.NsMysqlSctRepository;
+import com.scalar.db.api.DistributedTransaction;
+import com.scalar.db.api.DistributedTransactionManager;
+import com.scalar.db.api.Mutation;
+import com.scalar.db.exception.transaction.RollbackException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Keeps only the latest upsert per (pk, ck) for a short window and writes it once
+@Slf4j
+@Component
+public class SctUpsertCoalescer {
+    private final DistributedTransactionManager manager;
+    private final NsMysqlSctRepository sctRepository;
+    private final SctCacheInvalidator cacheInvalidator;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final Map<SctKey, PendingUpsert> pending = new ConcurrentHashMap<>();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final ScheduledExecutorService flusher;
+
+    public SctUpsertCoalescer(DistributedTransactionManager manager, NsMysqlSctRepository sctRepository,
+            SctCacheInvalidator cacheInvalidator, MeterRegistry meterRegistry,
+            @Value("${sct.upsert-coalesce.enabled:false}") boolean enabled,
+            @Value("${sct.upsert-coalesce.window-ms:50}") long windowMs,
+            @Value("${sct.upsert-coalesce.chunk-size:100}") int chunkSize) {
+        this.manager = manager;
+        this.sctRepository = sctRepository;
+        this.cacheInvalidator = cacheInvalidator;
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+        Gauge.builder("sct.upsert.coalescing.ratio", this, SctUpsertCoalescer::getCoalescingRatio)
+            .description("Upserts received per row actually written")
+            .register(meterRegistry);
+        Gauge.builder("sct.upsert.coalescing.pending", pending, Map::size)
+            .register(meterRegistry);
+        if (enabled) {
+            long window = Math.max(1, windowMs);
+            this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "sct-upsert-coalescer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.flusher.scheduleWithFixedDelay(this::flush, window, window, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Buffer an Upsert; the future completes when the value it was merged into is committed
+    public CompletableFuture<Void> submit(NsMysqlSct sct) {
+        // Reject incomplete keys here rather than failing the whole flush later
+        sct.getPartitionKey();
+        sct.getClusteringKey();
+        submitted.increment();
+        SctKey key = new SctKey(sct.getPk(), sct.getCk());
+        return pending.compute(key, (k, current) -> current == null
+            ? new PendingUpsert(sct, new CompletableFuture<>())
+            : new PendingUpsert(sct, current.future())).future();
+    }
+
+    public double getCoalescingRatio() {
+        long writes = written.sum();
+        return writes == 0 ? 0.0 : (double) submitted.sum() / writes;
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    // Drain the buffer; a key upserted again during the flush starts a new entry for the next one
+    private synchronized void flush() {
+        List<PendingUpsert> chunk = new ArrayList<>(chunkSize);
+        for (SctKey key : pending.keySet()) {
+            PendingUpsert upsert = pending.remove(key);
+            if (upsert == null) {
+                continue;
+            }
+            chunk.add(upsert);
+            if (chunk.size() == chunkSize) {
+                commitChunk(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            commitChunk(chunk);
+        }
+    }
+
+    private void commitChunk(List<PendingUpsert> chunk) {
+        List<Mutation> mutations = new ArrayList<>(chunk.size());
+        for (PendingUpsert upsert : chunk) {
+            mutations.add(sctRepository.buildUpsert(upsert.sct()));
+        }
+        try {
+            commit(mutations);
+            written.add(chunk.size());
+            for (PendingUpsert upsert : chunk) {
+                upsert.future().complete(null);
+            }
+        } catch (Exception e) {
+            log.warn("Coalesced upsert of {} rows failed, retrying row by row: {}", chunk.size(), e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    commit(List.of(mutations.get(i)));
+                    written.increment();
+                    chunk.get(i).future().complete(null);
+                } catch (Exception ex) {
+                    chunk.get(i).future().completeExceptionally(ex);
+                }
+            }
+        }
+    }
+
+    private void commit(List<Mutation> mutations) throws Exception {
+        DistributedTransaction transaction = manager.start();
+        try {
+            sctRepository.mutateNsMysqlSct(transaction, mutations);
+            transaction.commit();
+        } catch (Exception e) {
+            try {
+                transaction.rollback();
+            } catch (RollbackException ex) {
+                log.error(ex.getMessage(), ex);
+            }
+            throw e;
+        } finally {
+            // Callers that did not wait may have let a read re-cache the old value meanwhile
+            cacheInvalidator.onWrite(mutations);
+        }
+    }
+
+    private record SctKey(Integer pk, Integer ck) {
+    }
+
+    private record PendingUpsert(NsMysqlSct sct, CompletableFuture<Void> future) {
+    }
+}
@@ -2,6 +2,7 @@ package com.example.demo_316.service;
 
 import com.example.demo_316.dto.LoadTestResultDto;
 import com.example.demo_316.dto.NsMysqlSctErrorDto;
+import com.example.demo_316.dto.NsMysqlSctPurgeStatusDto;
 import com.example.demo_316.dto.SqlLoadTestDto;
 import com.example.demo_316.exception.CustomException;
 import com.example.demo_316.util.SqlTemplateGenerator;
@@ -27,7 +28,7 @@ public class SqlLoadTestService {
     
     private final GenericSqlService genericSqlService;
     private final NsMysqlSctErrorService sctErrorService;
-    private final NsMysqlSctService sctService; // For cleanup
+    private final NsMysqlSctPurgeService purgeService; // For cleanup
     private final Random random = new Random();
     
     public LoadTestResultDto executeSqlLoadTest(SqlLoadTestDto sqlLoadTestDto) throws CustomException {
@@ -99,14 +100,14 @@ public class SqlLoadTestService {
 
         // Cleanup if requested (reuse existing cleanup logic from LoadTestService)
         boolean cleanupExecuted = false;
-        int cleanupRecordsDeleted = 0;
+        String cleanupPurgeId = null;
         
         log.info("Cleanup check: cleanupAfterTest = {}", sqlLoadTestDto.getCleanupAfterTest());
         
         if (sqlLoadTestDto.getCleanupAfterTest() != null && sqlLoadTestDto.getCleanupAfterTest()) {
             log.info("Executing cleanup for PK: {}", sqlLoadTestDto.getPk());
-            cleanupRecordsDeleted = performCleanup(sqlLoadTestDto.getPk());
-            cleanupExecuted = true;
+            cleanupPurgeId = performCleanup(sqlLoadTestDto.getPk());
+            cleanupExecuted = cleanupPurgeId != null;
         } else {
             log.info("Cleanup skipped - cleanupAfterTest is false or null");
         }
@@ -147,7 +148,7 @@ public class SqlLoadTestService {
             .testDurationSeconds(sqlLoadTestDto.getTestDurationSeconds())
             .actualTestDurationMs(statisticsTime)
             .cleanupExecuted(cleanupExecuted)
-            .cleanupRecordsDeleted(cleanupRecordsDeleted)
+            .cleanupPurgeId(cleanupPurgeId)
             .build();
     }
     
@@ -455,28 +456,16 @@ public class SqlLoadTestService {
         return truncated + "\n... [TRUNCATED - Original length: " + message.length() + " chars]";
     }
 
-    // Reuse cleanup logic from LoadTestService
-    private int performCleanup(Integer pk) {
-        int deletedRecords = 0;
+    // Purge the partition in the background; the result carries the purge id to poll at /sct/purge/{purgeId}
+    private String performCleanup(Integer pk) {
         try {
-            // Get all records with the specified PK from sct table
-            com.example.demo_316.dto.NsMysqlSctDto searchDto = com.example.demo_316.dto.NsMysqlSctDto.builder().pk(pk).build();
-            java.util.List<com.example.demo_316.dto.NsMysqlSctDto> sctRecords = sctService.getNsMysqlSctListByPk(searchDto);
-
-            // Delete all sct records only (preserve sct_error records for analysis)
-            for (com.example.demo_316.dto.NsMysqlSctDto record : sctRecords) {
-                try {
-                    sctService.deleteNsMysqlSct(record, false);
-                    deletedRecords++;
-                } catch (Exception e) {
-                    log.error("Failed to delete sct record: {}", e.getMessage());
-                }
-            }
-
-            log.info("SQL Load Test cleanup completed: {} sct records deleted for PK {}. Error records preserved for analysis.", deletedRecords, pk);
+            // Only sct records are purged (sct_error records are preserved for analysis)
+            NsMysqlSctPurgeStatusDto purge = purgeService.startPurge(pk);
+            log.info("SQL Load Test cleanup started as purge {} for PK {}.", purge.getPurgeId(), pk);
+            return purge.getPurgeId();
         } catch (Exception e) {
             log.error("SQL Load Test cleanup failed: {}", e.getMessage());
+            return null;
         }
-        return deletedRecords;
     }
 }
\ No newline at end of file
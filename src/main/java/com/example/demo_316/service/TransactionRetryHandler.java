@@ -0,0 +1,83 @@
+package com.example.demo_316.service;
+
+import com.example.demo_316.exception.CustomException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Component
+public class TransactionRetryHandler {
+    private static final int CONFLICT_ERROR_CODE = 9150;
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final long budgetMs;
+
+    public TransactionRetryHandler(MeterRegistry meterRegistry,
+            @Value("${sct.retry.max-attempts:3}") int maxAttempts,
+            @Value("${sct.retry.base-delay-ms:20}") long baseDelayMs,
+            @Value("${sct.retry.max-delay-ms:1000}") long maxDelayMs,
+            @Value("${sct.retry.budget-ms:3000}") long budgetMs) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMs = Math.max(1, baseDelayMs);
+        this.maxDelayMs = Math.max(this.baseDelayMs, maxDelayMs);
+        this.budgetMs = Math.max(0, budgetMs);
+    }
+
+    // Run an Operation, Retrying Conflicts with Full-Jitter Exponential Backoff
+    public <T> T execute(String operation, RetryableOperation<T> call) throws CustomException {
+        long deadline = System.currentTimeMillis() + budgetMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.run();
+            } catch (CustomException e) {
+                if (e.getErrorCode() == null || e.getErrorCode() != CONFLICT_ERROR_CODE) {
+                    throw e;
+                }
+                long delay = ThreadLocalRandom.current().nextLong(backoffCeiling(attempt) + 1);
+                if (attempt >= maxAttempts || System.currentTimeMillis() + delay > deadline) {
+                    if (maxAttempts > 1) {
+                        counter("sct.retry.exhausted", operation).increment();
+                    }
+                    throw e;
+                }
+                counter("sct.retry.attempts", operation).increment();
+                log.warn("{} conflicted (attempt {}/{}), retrying in {} ms", operation, attempt, maxAttempts, delay);
+                sleep(delay, e);
+            }
+        }
+    }
+
+    private long backoffCeiling(int attempt) {
+        // base * 2^(attempt - 1), capped before it can overflow
+        int shift = Math.min(attempt - 1, 30);
+        return Math.min(maxDelayMs, baseDelayMs << shift);
+    }
+
+    private void sleep(long delay, CustomException cause) throws CustomException {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return Counter.builder(name)
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    public interface RetryableOperation<T> {
+        T run() throws CustomException;
+    }
+}
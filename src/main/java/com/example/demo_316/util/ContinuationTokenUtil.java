@@ -0,0 +1,58 @@
+package com.example.demo_316.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque continuation tokens handed out by paged scans.
+ * A token carries the clustering key values of the last row returned, so the next
+ * page can restart the scan right after it instead of skipping over earlier rows.
+ */
+public final class ContinuationTokenUtil {
+
+    public static final String HEADER = "X-Continuation-Token";
+
+    private static final String SEPARATOR = "|";
+
+    private ContinuationTokenUtil() {
+    }
+
+    /**
+     * Encodes the given key values into an opaque, URL-safe token.
+     *
+     * @param parts The key values of the last row returned
+     * @return The continuation token
+     */
+    public static String encode(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                sb.append(SEPARATOR);
+            }
+            sb.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode(Object...)}.
+     *
+     * @param token The continuation token
+     * @param expectedParts The number of key values the token must carry
+     * @return The key values as strings
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static String[] decode(String token, int expectedParts) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token");
+        }
+        String[] parts = decoded.split("\\" + SEPARATOR, -1);
+        if (parts.length != expectedParts) {
+            throw new IllegalArgumentException("Invalid continuation token");
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.demo_316.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 style helpers for the bulk import and export endpoints.
+ * Fields may be quoted with double quotes and a doubled quote escapes a quote;
+ * a quoted field may contain line breaks, so one record can span several lines.
+ */
+public final class CsvUtil {
+
+    private CsvUtil() {
+    }
+
+    /**
+     * Reads the next record, continuing past line breaks that fall inside a quoted field.
+     * Those line breaks are kept as they are; the record terminator (LF or CRLF) is dropped.
+     *
+     * @param reader The reader positioned at the start of a record
+     * @return The record without its terminator, or null at the end of the input
+     * @throws IOException if reading fails
+     */
+    public static String readRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        StringBuilder record = new StringBuilder();
+        boolean quoted = false;
+        while (c >= 0) {
+            if (!quoted && c == '\n') {
+                break;
+            }
+            if (!quoted && c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            }
+            // A doubled quote toggles twice, so it leaves the state unchanged
+            if (c == '"') {
+                quoted = !quoted;
+            }
+            record.append((char) c);
+            c = reader.read();
+        }
+        return record.toString();
+    }
+
+    /**
+     * Splits one CSV record into its fields.
+     *
+     * @param line The record without its terminator
+     * @return The unquoted field values; empty unquoted fields are returned as null
+     * @throws IllegalArgumentException if a quoted field is not closed
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(toField(field, wasQuoted));
+                field.setLength(0);
+                wasQuoted = false;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(toField(field, wasQuoted));
+        return fields;
+    }
+
+    /**
+     * Formats a value as a CSV field, quoting it only when needed.
+     *
+     * @param value The value, or null for an empty field
+     * @return The CSV field
+     */
+    public static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String s = value.toString();
+        if (s.isEmpty()) {
+            // Quoted, so it reads back as an empty string rather than null
+            return "\"\"";
+        }
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0 && s.indexOf('\r') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+    private static String toField(StringBuilder field, boolean wasQuoted) {
+        if (field.length() == 0 && !wasQuoted) {
+            return null;
+        }
+        return field.toString();
+    }
+}
@@ -13,6 +13,11 @@ public class GenericSqlUtil {
         this.sqlSession = sqlSession;
     }
 
+    // Read-only statements are the only ones safe to share between identical concurrent requests
+    public static boolean isSelect(String sql) {
+        return sql != null && sql.stripLeading().regionMatches(true, 0, "SELECT", 0, 6);
+    }
+
     public List<Map<String, Object>> executeQuery(String sql) {
         List<Map<String, Object>> results = new ArrayList<>();
         ResultSet resultSet = sqlSession.execute(sql);
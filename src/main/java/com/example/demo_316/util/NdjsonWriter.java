@@ -0,0 +1,59 @@
+package com.example.demo_316.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes values as newline-delimited JSON, one object per line, on a single generator.
+ * Values are neither separated by Jackson's default root value space nor flushed one by one;
+ * the caller decides when to flush. Closing flushes but leaves the target stream open.
+ */
+public final class NdjsonWriter implements Closeable, Flushable {
+
+    private final ObjectWriter writer;
+
+    private final JsonGenerator generator;
+
+    /**
+     * Creates a writer for values of the given type.
+     *
+     * @param objectMapper The mapper whose configuration is used
+     * @param type         The type of the values written
+     * @param out          The target stream
+     * @throws IOException if the generator cannot be created
+     */
+    public NdjsonWriter(ObjectMapper objectMapper, Class<?> type, OutputStream out) throws IOException {
+        this.writer = objectMapper.writerFor(type)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .withRootValueSeparator("");
+        this.generator = writer.createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Writes one value followed by a line feed.
+     *
+     * @param value The value to write
+     * @throws IOException if writing fails, for example because the client went away
+     */
+    public void write(Object value) throws IOException {
+        writer.writeValue(generator, value);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.demo_316.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Collapses concurrent calls for the same key into one. The first caller runs the call;
+ * callers arriving while it is in flight wait for and share its result or exception.
+ * Nothing is remembered once the call finishes, so this is coalescing, not caching.
+ *
+ * @param <K> The key identifying identical calls; must implement equals and hashCode
+ * @param <V> The result type
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Runs the call, or joins the identical call already in flight.
+     *
+     * @param key  The key identifying the call
+     * @param call The call to run when no identical call is in flight
+     * @return The result of this call or of the one it joined
+     * @throws E The exception thrown by this call or by the one it joined
+     */
+    public <E extends Exception> V execute(K key, Call<V, E> call) throws E {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        V result;
+        try {
+            result = call.run();
+        } catch (Throwable t) {
+            // Leave the map before completing, so a caller arriving afterwards starts a fresh call
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(t);
+            throw t;
+        }
+        inFlight.remove(key, flight);
+        flight.complete(result);
+        return result;
+    }
+
+    /**
+     * Detaches the in-flight call for the key, so later callers start a new one instead of joining it.
+     * Callers that already joined still receive its result. Use it after a write that the in-flight
+     * call may not have observed.
+     *
+     * @param key The key identifying the call
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * Detaches every in-flight call whose key matches.
+     *
+     * @param matching Selects the keys to detach
+     * @see #forget(Object)
+     */
+    public void forgetIf(Predicate<? super K> matching) {
+        inFlight.keySet().removeIf(matching);
+    }
+
+    /**
+     * Returns how many calls joined another call instead of running.
+     *
+     * @return The coalesced call count
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, E extends Exception> V await(CompletableFuture<V> flight) throws E {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return flight.get();
+                } catch (InterruptedException e) {
+                    // The shared call keeps running for the others; finish waiting and restore the flag
+                    interrupted = true;
+                } catch (ExecutionException | CompletionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw (E) cause;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * A call that may be shared between concurrent callers.
+     *
+     * @param <V> The result type
+     * @param <E> The exception type
+     */
+    @FunctionalInterface
+    public interface Call<V, E extends Exception> {
+        V run() throws E;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.demo_316.cache;
+
+import com.example.demo_316.model.NsMysqlSct;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OffHeapSctRecordStoreTest {
+
+    private static final long LONG_TTL_MS = 60_000;
+
+    private static OffHeapSctRecordStore store(long maxSize, long ttlMs, int segments, int maxValueBytes) {
+        return new OffHeapSctRecordStore(new SimpleMeterRegistry(), "test", maxSize, ttlMs, segments, maxValueBytes);
+    }
+
+    private static NsMysqlSct sct(int pk, int ck, String stringValue, Long bintValue) {
+        return NsMysqlSct.builder().pk(pk).ck(ck).stringValue(stringValue).bintValue(bintValue).build();
+    }
+
+    @Test
+    void roundTripsValuesIncludingNulls() {
+        OffHeapSctRecordStore store = store(100, LONG_TTL_MS, 4, 64);
+        store.put(sct(1, 1, "h\u00e9llo", 42L));
+        store.put(sct(1, 2, null, null));
+        store.put(sct(-7, Integer.MIN_VALUE, "", Long.MIN_VALUE));
+
+        NsMysqlSct first = store.get(1, 1);
+        assertEquals("h\u00e9llo", first.getStringValue());
+        assertEquals(42L, first.getBintValue());
+        NsMysqlSct second = store.get(1, 2);
+        assertNull(second.getStringValue());
+        assertNull(second.getBintValue());
+        NsMysqlSct third = store.get(-7, Integer.MIN_VALUE);
+        assertEquals("", third.getStringValue());
+        assertEquals(Long.MIN_VALUE, third.getBintValue());
+        assertNull(store.get(2, 1));
+    }
+
+    @Test
+    void overwriteReplacesValueInPlace() {
+        OffHeapSctRecordStore store = store(10, LONG_TTL_MS, 1, 16);
+        store.put(sct(1, 1, "a", 1L));
+        store.put(sct(1, 1, "b", null));
+        assertEquals("b", store.get(1, 1).getStringValue());
+        assertNull(store.get(1, 1).getBintValue());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void matchesHashMapReferenceOverRandomOperations() {
+        // Capacity well above the key space, so nothing is evicted and every present key must be found
+        OffHeapSctRecordStore store = store(10_000, LONG_TTL_MS, 4, 16);
+        Map<Long, NsMysqlSct> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            int pk = random.nextInt(40);
+            int ck = random.nextInt(100);
+            long key = ((long) pk << 32) | ck;
+            int op = random.nextInt(10);
+            if (op < 4) {
+                NsMysqlSct sct = sct(pk, ck, random.nextBoolean() ? null : "v" + random.nextInt(1000),
+                    random.nextBoolean() ? null : random.nextLong());
+                store.put(sct);
+                reference.put(key, sct);
+            } else if (op < 6) {
+                store.invalidate(pk, ck);
+                reference.remove(key);
+            } else {
+                NsMysqlSct expected = reference.get(key);
+                NsMysqlSct actual = store.get(pk, ck);
+                if (expected == null) {
+                    assertNull(actual, "unexpected entry at step " + i);
+                } else {
+                    assertNotNull(actual, "missing entry at step " + i);
+                    assertEquals(expected.getStringValue(), actual.getStringValue());
+                    assertEquals(expected.getBintValue(), actual.getBintValue());
+                }
+            }
+        }
+        assertEquals(reference.size(), store.size());
+    }
+
+    @Test
+    void evictsAtCapacityAndKeepsServingCorrectValues() {
+        OffHeapSctRecordStore store = store(64, LONG_TTL_MS, 4, 16);
+        for (int ck = 0; ck < 1_000; ck++) {
+            store.put(sct(1, ck, "v" + ck, (long) ck));
+        }
+        assertEquals(64, store.size());
+        int present = 0;
+        for (int ck = 0; ck < 1_000; ck++) {
+            NsMysqlSct sct = store.get(1, ck);
+            if (sct != null) {
+                present++;
+                assertEquals("v" + ck, sct.getStringValue());
+                assertEquals(ck, sct.getBintValue());
+            }
+        }
+        assertEquals(64, present);
+    }
+
+    @Test
+    void clockGivesRecentlyReadEntriesASecondChance() {
+        OffHeapSctRecordStore store = store(4, LONG_TTL_MS, 1, 16);
+        for (int ck = 0; ck < 4; ck++) {
+            store.put(sct(1, ck, null, null));
+        }
+        store.get(1, 0);
+        store.put(sct(1, 4, null, null));
+        assertNotNull(store.get(1, 0));
+        assertNull(store.get(1, 1));
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() throws InterruptedException {
+        OffHeapSctRecordStore store = store(10, 20, 1, 16);
+        store.put(sct(1, 1, "a", 1L));
+        assertNotNull(store.get(1, 1));
+        Thread.sleep(60);
+        assertNull(store.get(1, 1));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void skipsOversizedValuesAndDropsOlderCopy() {
+        OffHeapSctRecordStore store = store(10, LONG_TTL_MS, 1, 8);
+        store.put(sct(1, 1, "short", 1L));
+        store.put(sct(1, 1, "much longer than eight bytes", 2L));
+        assertNull(store.get(1, 1));
+
+        // The limit is in UTF-8 bytes: four two-byte characters fit exactly, five do not
+        store.put(sct(1, 2, "\u00e9\u00e9\u00e9\u00e9", 1L));
+        assertEquals("\u00e9\u00e9\u00e9\u00e9", store.get(1, 2).getStringValue());
+        store.put(sct(1, 3, "\u00e9\u00e9\u00e9\u00e9\u00e9", 1L));
+        assertNull(store.get(1, 3));
+    }
+
+    @Test
+    void invalidateAllEmptiesEverySegment() {
+        OffHeapSctRecordStore store = store(100, LONG_TTL_MS, 4, 16);
+        for (int ck = 0; ck < 50; ck++) {
+            store.put(sct(ck, ck, null, (long) ck));
+        }
+        store.invalidateAll();
+        assertEquals(0, store.size());
+        for (int ck = 0; ck < 50; ck++) {
+            assertNull(store.get(ck, ck));
+        }
+        store.put(sct(1, 1, null, 1L));
+        assertEquals(1, store.size());
+    }
+}
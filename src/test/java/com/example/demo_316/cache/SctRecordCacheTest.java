@@ -0,0 +1,53 @@
+package com.example.demo_316.cache;
+
+import com.example.demo_316.model.NsMysqlSct;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SctRecordCacheTest {
+
+    private final SctRecordCache cache = new SctRecordCache(new SimpleMeterRegistry(), true, "heap", 100, 60_000, 1, 64);
+
+    private static NsMysqlSct record(int pk, int ck, String value) {
+        return NsMysqlSct.builder().pk(pk).ck(ck).stringValue(value).bintValue(1L).build();
+    }
+
+    @Test
+    void putWithCurrentStampIsCached() {
+        long stamp = cache.stamp(1, 1);
+        cache.put(record(1, 1, "a"), stamp);
+        assertEquals("a", cache.get(1, 1).orElseThrow().getStringValue());
+    }
+
+    @Test
+    void readThatRacedAnInvalidationIsNotCached() {
+        long stamp = cache.stamp(1, 1);
+        // A write lands while the read is in flight
+        cache.invalidate(1, 1);
+        cache.put(record(1, 1, "stale"), stamp);
+        assertTrue(cache.get(1, 1).isEmpty());
+    }
+
+    @Test
+    void invalidateAllDropsPutsFromEarlierStamps() {
+        long[] stamps = cache.stampAll();
+        long stamp = cache.stamp(2, 2);
+        cache.invalidateAll();
+        cache.put(record(1, 1, "stale"), stamps);
+        cache.put(record(2, 2, "stale"), stamp);
+        assertTrue(cache.get(1, 1).isEmpty());
+        assertTrue(cache.get(2, 2).isEmpty());
+    }
+
+    @Test
+    void writesToOtherKeysDoNotBlockPuts() {
+        long[] stamps = cache.stampAll();
+        // (1, 1) and (1, 2) fall in different stripes
+        cache.invalidate(1, 1);
+        cache.put(record(1, 2, "b"), stamps);
+        assertEquals("b", cache.get(1, 2).orElseThrow().getStringValue());
+    }
+}
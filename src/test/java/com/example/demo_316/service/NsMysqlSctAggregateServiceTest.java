@@ -0,0 +1,76 @@
+package com.example.demo_316.service;
+
+import com.example.demo_316.dto.NsMysqlSctAggregateDto;
+import com.example.demo_316.exception.CustomException;
+import com.example.demo_316.model.NsMysqlSct;
+import com.example.demo_316.repository.NsMysqlSctRepository;
+import com.scalar.db.api.DistributedTransaction;
+import com.scalar.db.api.DistributedTransactionManager;
+import com.scalar.db.api.Result;
+import com.scalar.db.api.TransactionCrudOperable;
+import com.scalar.db.io.Key;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NsMysqlSctAggregateServiceTest {
+
+    private final DistributedTransactionManager manager = mock(DistributedTransactionManager.class);
+    private final NsMysqlSctRepository sctRepository = mock(NsMysqlSctRepository.class);
+    private NsMysqlSctAggregateService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(manager.beginReadOnly()).thenAnswer(invocation -> mock(DistributedTransaction.class));
+        service = new NsMysqlSctAggregateService(manager, 2);
+        service.sctRepository = sctRepository;
+        service.maxPartitions = 1000;
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdownAggregateExecutor();
+    }
+
+    // One row per partition holding the given bint_value
+    private void partition(int pk, long value) throws Exception {
+        Result result = mock(Result.class);
+        when(result.isNull(NsMysqlSct.BINT_VALUE)).thenReturn(false);
+        when(result.getBigInt(NsMysqlSct.BINT_VALUE)).thenReturn(value);
+        TransactionCrudOperable.Scanner scanner = mock(TransactionCrudOperable.Scanner.class);
+        when(scanner.iterator()).thenAnswer(invocation -> List.of(result).iterator());
+        when(sctRepository.getNsMysqlSctValueScannerByPk(any(), eq(Key.ofInt(NsMysqlSct.PK, pk)))).thenReturn(scanner);
+    }
+
+    @Test
+    void combinesPartitions() throws Exception {
+        partition(1, 5);
+        partition(2, -3);
+
+        NsMysqlSctAggregateDto aggregate = service.aggregateByPkRange(1, 2);
+
+        assertEquals(2L, aggregate.getCount());
+        assertEquals(2L, aggregate.getSum());
+        assertEquals(-3L, aggregate.getMin());
+        assertEquals(5L, aggregate.getMax());
+    }
+
+    @Test
+    void overflowAcrossPartitionsIsBadRequest() throws Exception {
+        // Each partition fits in a long on its own; only the merged sum overflows
+        partition(1, Long.MAX_VALUE / 2 + 1);
+        partition(2, Long.MAX_VALUE / 2 + 1);
+
+        CustomException thrown = assertThrows(CustomException.class, () -> service.aggregateByPkRange(1, 2));
+        assertEquals(9400, thrown.getErrorCode());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo_316.service;
+
+import com.example.demo_316.exception.CustomException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TransactionRetryHandlerTest {
+
+    private static final int CONFLICT = 9150;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Millisecond delays keep the backoff short enough for unit tests
+    private TransactionRetryHandler handler(int maxAttempts) {
+        return new TransactionRetryHandler(meterRegistry, maxAttempts, 1, 2, 10_000);
+    }
+
+    private double count(String name) {
+        var counter = meterRegistry.find(name).tag("operation", "op").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void returnsResultWithoutRetrying() throws CustomException {
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals("ok", handler(3).execute("op", () -> {
+            calls.incrementAndGet();
+            return "ok";
+        }));
+        assertEquals(1, calls.get());
+        assertEquals(0.0, count("sct.retry.attempts"), 0.0);
+    }
+
+    @Test
+    void retriesConflictsUntilSuccess() throws CustomException {
+        AtomicInteger calls = new AtomicInteger();
+        String result = handler(3).execute("op", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new CustomException(CONFLICT, "conflict");
+            }
+            return "ok";
+        });
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+        assertEquals(2.0, count("sct.retry.attempts"), 0.0);
+        assertEquals(0.0, count("sct.retry.exhausted"), 0.0);
+    }
+
+    @Test
+    void doesNotRetryOtherErrors() {
+        AtomicInteger calls = new AtomicInteger();
+        CustomException thrown = assertThrows(CustomException.class, () -> handler(3).execute("op", () -> {
+            calls.incrementAndGet();
+            throw new CustomException(9300, "failed");
+        }));
+        assertEquals(9300, thrown.getErrorCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+        CustomException thrown = assertThrows(CustomException.class, () -> handler(3).execute("op", () -> {
+            calls.incrementAndGet();
+            throw new CustomException(CONFLICT, "conflict");
+        }));
+        assertEquals(CONFLICT, thrown.getErrorCode());
+        assertEquals(3, calls.get());
+        assertEquals(2.0, count("sct.retry.attempts"), 0.0);
+        assertEquals(1.0, count("sct.retry.exhausted"), 0.0);
+    }
+
+    @Test
+    void singleAttemptNeverRetriesOrCountsExhaustion() {
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(CustomException.class, () -> handler(1).execute("op", () -> {
+            calls.incrementAndGet();
+            throw new CustomException(CONFLICT, "conflict");
+        }));
+        assertEquals(1, calls.get());
+        assertNull(meterRegistry.find("sct.retry.exhausted").counter());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo_316.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContinuationTokenUtilTest {
+
+    @Test
+    void roundTripsKeyValues() {
+        String token = ContinuationTokenUtil.encode(12, -5);
+        assertArrayEquals(new String[] {"12", "-5"}, ContinuationTokenUtil.decode(token, 2));
+    }
+
+    @Test
+    void tokensAreUrlSafe() {
+        String token = ContinuationTokenUtil.encode(Integer.MAX_VALUE, Integer.MIN_VALUE);
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void rejectsWrongNumberOfParts() {
+        String token = ContinuationTokenUtil.encode(1);
+        assertThrows(IllegalArgumentException.class, () -> ContinuationTokenUtil.decode(token, 2));
+    }
+
+    @Test
+    void rejectsTokensThatAreNotBase64() {
+        assertThrows(IllegalArgumentException.class, () -> ContinuationTokenUtil.decode("not base64!", 1));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo_316.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvUtilTest {
+
+    @Test
+    void splitsPlainFields() {
+        assertEquals(List.of("1", "2", "abc", "42"), CsvUtil.parseLine("1,2,abc,42"));
+    }
+
+    @Test
+    void emptyUnquotedFieldsAreNullAndEmptyQuotedFieldsAreEmpty() {
+        assertEquals(Arrays.asList("1", null, "", null), CsvUtil.parseLine("1,,\"\","));
+    }
+
+    @Test
+    void unquotesFieldsWithCommasAndDoubledQuotes() {
+        assertEquals(List.of("a,b", "say \"hi\""), CsvUtil.parseLine("\"a,b\",\"say \"\"hi\"\"\""));
+    }
+
+    @Test
+    void rejectsUnterminatedQuotes() {
+        assertThrows(IllegalArgumentException.class, () -> CsvUtil.parseLine("1,\"open"));
+    }
+
+    @Test
+    void escapesOnlyWhenNeeded() {
+        assertEquals("", CsvUtil.escape(null));
+        assertEquals("\"\"", CsvUtil.escape(""));
+        assertEquals("plain", CsvUtil.escape("plain"));
+        assertEquals("42", CsvUtil.escape(42L));
+        assertEquals("\"a,b\"", CsvUtil.escape("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", CsvUtil.escape("say \"hi\""));
+        assertEquals("\"two\nlines\"", CsvUtil.escape("two\nlines"));
+    }
+
+    @Test
+    void escapedValuesParseBack() {
+        String value = "a, \"quoted\" value";
+        assertEquals(Arrays.asList("1", value, null), CsvUtil.parseLine("1," + CsvUtil.escape(value) + "," + CsvUtil.escape(null)));
+    }
+
+    @Test
+    void emptyStringAndNullRoundTripDistinctly() {
+        String line = "1," + CsvUtil.escape("") + "," + CsvUtil.escape(null);
+        assertEquals(Arrays.asList("1", "", null), CsvUtil.parseLine(line));
+    }
+
+    @Test
+    void readsRecordsSpanningLines() throws IOException {
+        String value = "first\nsecond\r\nthird";
+        String csv = "1," + CsvUtil.escape(value) + "\r\n2,plain\n3,last";
+        BufferedReader reader = new BufferedReader(new StringReader(csv));
+
+        assertEquals(List.of("1", value), CsvUtil.parseLine(CsvUtil.readRecord(reader)));
+        assertEquals(List.of("2", "plain"), CsvUtil.parseLine(CsvUtil.readRecord(reader)));
+        assertEquals(List.of("3", "last"), CsvUtil.parseLine(CsvUtil.readRecord(reader)));
+        assertNull(CsvUtil.readRecord(reader));
+    }
+
+    @Test
+    void readRecordKeepsEmptyLines() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader("a\n\nb\n"));
+
+        assertEquals("a", CsvUtil.readRecord(reader));
+        assertEquals("", CsvUtil.readRecord(reader));
+        assertEquals("b", CsvUtil.readRecord(reader));
+        assertNull(CsvUtil.readRecord(reader));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo_316.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NdjsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Map<String, Object> row(int pk, int ck, String value) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("pk", pk);
+        row.put("ck", ck);
+        row.put("stringValue", value);
+        return row;
+    }
+
+    @Test
+    void writesOneObjectPerLineWithoutSeparators() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NdjsonWriter writer = new NdjsonWriter(objectMapper, Map.class, out)) {
+            writer.write(row(1, 1, "a"));
+            writer.write(row(1, 2, null));
+            writer.write(row(1, 3, "c"));
+        }
+        byte[] expected = ("{\"pk\":1,\"ck\":1,\"stringValue\":\"a\"}\n"
+            + "{\"pk\":1,\"ck\":2,\"stringValue\":null}\n"
+            + "{\"pk\":1,\"ck\":3,\"stringValue\":\"c\"}\n").getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, out.toByteArray());
+    }
+
+    @Test
+    void leavesFlushingToTheCaller() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, Map.class, out);
+        writer.write(row(1, 1, "a"));
+        assertEquals(0, out.size());
+
+        writer.flush();
+        assertEquals("{\"pk\":1,\"ck\":1,\"stringValue\":\"a\"}\n", out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.demo_316.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private static final int JOINERS = 8;
+
+    @Test
+    void joinersShareTheLeadersResult() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(JOINERS + 1);
+        try {
+            Future<Integer> leader = executor.submit(() -> flight.execute("k", () -> {
+                runs.incrementAndGet();
+                release.await();
+                return 42;
+            }));
+            awaitRuns(runs, 1);
+            List<Future<Integer>> joiners = new ArrayList<>();
+            for (int i = 0; i < JOINERS; i++) {
+                joiners.add(executor.submit(() -> flight.execute("k", () -> {
+                    runs.incrementAndGet();
+                    return -1;
+                })));
+            }
+            awaitCoalesced(flight, JOINERS);
+            release.countDown();
+
+            assertEquals(42, leader.get(5, TimeUnit.SECONDS));
+            for (Future<Integer> joiner : joiners) {
+                assertEquals(42, joiner.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, runs.get());
+            assertEquals(JOINERS, flight.getCoalescedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void joinersShareTheLeadersException() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        IOException failure = new IOException("boom");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> leader = executor.submit(() -> flight.execute("k", () -> {
+                runs.incrementAndGet();
+                release.await();
+                throw failure;
+            }));
+            awaitRuns(runs, 1);
+            Future<Throwable> joiner = executor.submit(() -> {
+                try {
+                    flight.<IOException>execute("k", () -> 0);
+                    return null;
+                } catch (IOException e) {
+                    return e;
+                }
+            });
+            awaitCoalesced(flight, 1);
+            release.countDown();
+
+            assertSame(failure, joiner.get(5, TimeUnit.SECONDS));
+            Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            assertSame(failure, leaderFailure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void finishedCallsAreNotRemembered() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        assertEquals(1, flight.execute("k", runs::incrementAndGet));
+        assertEquals(2, flight.execute("k", runs::incrementAndGet));
+        assertThrows(IllegalStateException.class, () -> flight.execute("k", () -> {
+            throw new IllegalStateException("fails once");
+        }));
+        assertEquals(3, flight.execute("k", runs::incrementAndGet));
+        assertEquals(0, flight.getCoalescedCount());
+    }
+
+    @Test
+    void differentKeysDoNotShare() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> first = executor.submit(() -> flight.execute("a", () -> {
+                runs.incrementAndGet();
+                release.await();
+                return "a";
+            }));
+            awaitRuns(runs, 1);
+            assertEquals("b", flight.execute("b", () -> "b"));
+            release.countDown();
+            assertEquals("a", first.get(5, TimeUnit.SECONDS));
+            assertEquals(0, flight.getCoalescedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void forgetMakesLaterCallersStartTheirOwnCall() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> stale = executor.submit(() -> flight.execute("k", () -> {
+                runs.incrementAndGet();
+                release.await();
+                return 1;
+            }));
+            awaitRuns(runs, 1);
+            flight.forget("k");
+            assertEquals(2, flight.execute("k", () -> 2));
+            release.countDown();
+            assertEquals(1, stale.get(5, TimeUnit.SECONDS));
+            assertEquals(0, flight.getCoalescedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void forgetIfDetachesOnlyMatchingKeys() throws Exception {
+        SingleFlight<Integer, Integer> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<Integer> even = executor.submit(() -> flight.execute(2, () -> {
+                runs.incrementAndGet();
+                release.await();
+                return 2;
+            }));
+            Future<Integer> odd = executor.submit(() -> flight.execute(3, () -> {
+                runs.incrementAndGet();
+                release.await();
+                return 3;
+            }));
+            awaitRuns(runs, 2);
+            flight.forgetIf(key -> key % 2 == 0);
+
+            // The even key starts afresh; the odd key is still in flight and is joined
+            assertEquals(20, flight.execute(2, () -> 20));
+            Future<Integer> oddJoiner = executor.submit(() -> flight.execute(3, () -> 30));
+            awaitCoalesced(flight, 1);
+            release.countDown();
+            assertEquals(2, even.get(5, TimeUnit.SECONDS));
+            assertEquals(3, odd.get(5, TimeUnit.SECONDS));
+            assertEquals(3, oddJoiner.get(5, TimeUnit.SECONDS));
+            assertEquals(1, flight.getCoalescedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitRuns(AtomicInteger runs, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (runs.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertTrue(runs.get() >= expected, "call did not start");
+    }
+
+    private static void awaitCoalesced(SingleFlight<?, ?> flight, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.getCoalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, flight.getCoalescedCount());
+    }
+}